@@ -0,0 +1,30 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day03.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+//--- Day 3: Mull It Over ---
+public class Day03Benchmark extends DayBenchmark {
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		return InputScaler.repeatLines(puzzleInputByLines, scale);
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(input);
+	}
+
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(input);
+	}
+}
@@ -0,0 +1,38 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day04.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+
+import java.util.List;
+
+//--- Day 4: Ceres Search ---
+// the anchor letters are searched with the Vector API, if its module is there
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class Day04Benchmark extends DayBenchmark {
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		return InputScaler.tileGrid(puzzleInputByLines, scale);
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(input);
+	}
+
+	@Benchmark
+	public long part1AhoCorasick() {
+		return Main.solvePart1WithAhoCorasick(input);
+	}
+
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(input);
+	}
+}
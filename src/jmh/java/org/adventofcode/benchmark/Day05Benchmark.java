@@ -0,0 +1,40 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day05.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+//--- Day 5: Print Queue ---
+public class Day05Benchmark extends DayBenchmark {
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		return InputScaler.repeatSectionAfterBlankLine(puzzleInputByLines, scale);
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(input);
+	}
+
+	@Benchmark
+	public long part1Streaming() {
+		return Main.validateAsStream(input).getValidUpdatesMiddleNumbersSum();
+	}
+
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(input);
+	}
+
+	@Benchmark
+	public long part2Streaming() {
+		return Main.validateAsStream(input).getCorrectedUpdatesMiddleNumbersSum();
+	}
+}
@@ -0,0 +1,80 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day06.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+//--- Day 6: Guard Gallivant ---
+public class Day06Benchmark extends DayBenchmark {
+
+	private static final char CHAR_GUARD = '^';
+	private static final char CHAR_OBSTACLE = '#';
+	private static final char CHAR_EMPTY = '.';
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	/**
+	 * The map is tiled, but the guard is kept only in 1 tile: in the tile which is on the edge of the big map where she
+	 * leaves the original map. So she walks the same way as on the original map and leaves the big map too (if she
+	 * would walk into another tile she could get stuck in a loop and part 1 would never finish).
+	 */
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		final int[] exitDirection = findGuardExitDirection(puzzleInputByLines);
+		final int guardTileX = exitDirection[0] == 1 ? scale - 1 : 0;
+		final int guardTileY = exitDirection[1] == 1 ? scale - 1 : 0;
+		return InputScaler.tileGrid(
+			puzzleInputByLines,
+			scale,
+			(c, tileX, tileY) -> c == CHAR_GUARD && (tileX != guardTileX || tileY != guardTileY) ? CHAR_EMPTY : c
+		);
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(input);
+	}
+
+	/**
+	 * The loop detection.
+	 */
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(input);
+	}
+
+	/**
+	 * @return the direction {x, y} the guard faces when she leaves the map
+	 */
+	private static int[] findGuardExitDirection(final List<String> inputByLines) {
+		int guardXpos = 0;
+		int guardYpos = 0;
+		for (int y = 0; y < inputByLines.size(); y++) {
+			if (inputByLines.get(y).indexOf(CHAR_GUARD) != -1) {
+				guardXpos = inputByLines.get(y).indexOf(CHAR_GUARD);
+				guardYpos = y;
+			}
+		}
+		int directionX = 0;
+		int directionY = -1; // facing north
+		while (true) {
+			final int nextXpos = guardXpos + directionX;
+			final int nextYpos = guardYpos + directionY;
+			if (nextYpos < 0 || nextYpos >= inputByLines.size() || nextXpos < 0 || nextXpos >= inputByLines.get(nextYpos).length()) {
+				return new int[]{directionX, directionY};
+			}
+			if (inputByLines.get(nextYpos).charAt(nextXpos) == CHAR_OBSTACLE) { // turn right 90 degrees
+				final int previousDirectionX = directionX;
+				directionX = -directionY;
+				directionY = previousDirectionX;
+			} else {
+				guardXpos = nextXpos;
+				guardYpos = nextYpos;
+			}
+		}
+	}
+}
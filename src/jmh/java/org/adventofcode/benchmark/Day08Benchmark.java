@@ -0,0 +1,35 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day08.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+//--- Day 8: Resonant Collinearity ---
+public class Day08Benchmark extends DayBenchmark {
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		return InputScaler.tileGrid(puzzleInputByLines, scale);
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(input);
+	}
+
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(input);
+	}
+
+	@Benchmark
+	public long part2FullLines() {
+		return Main.solvePart2OnFullLines(input);
+	}
+}
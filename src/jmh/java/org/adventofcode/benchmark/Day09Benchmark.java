@@ -0,0 +1,38 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day09.BuiltInCompactionStrategy;
+import org.adventofcode.day09.DiskImage;
+import org.adventofcode.day09.DiskMap;
+import org.adventofcode.day09.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+//--- Day 9: Disk Fragmenter ---
+public class Day09Benchmark extends DayBenchmark {
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		return InputScaler.repeatWithinLines(puzzleInputByLines, scale);
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(input);
+	}
+
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(input);
+	}
+
+	@Benchmark
+	public long part2BestFit() {
+		return DiskImage.of(DiskMap.read(input)).compact(BuiltInCompactionStrategy.BEST_FIT).getChecksum();
+	}
+}
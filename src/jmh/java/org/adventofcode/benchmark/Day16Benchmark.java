@@ -0,0 +1,95 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.day16.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+//--- Day 16: Reindeer Maze ---
+// the depth first search is recursive, so the bigger mazes need a bigger stack
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Xss512m"})
+public class Day16Benchmark extends DayBenchmark {
+
+	private static final char CHAR_START = 'S';
+	private static final char CHAR_END = 'E';
+	private static final char CHAR_WALL = '#';
+	private static final char CHAR_EMPTY = '.';
+
+	@Override
+	protected Class<?> dayMainClass() {
+		return Main.class;
+	}
+
+	/**
+	 * The maze is tiled, the start is kept only in the bottom left tile and the end only in the top right tile (like
+	 * in the original maze). The tiles are walled in, so a hole is opened in the walls between every 2 neighbor tiles.
+	 */
+	@Override
+	protected List<String> scaleInput(final List<String> puzzleInputByLines, final int scale) {
+		final List<String> tiledInputByLines = InputScaler.tileGrid(
+			puzzleInputByLines,
+			scale,
+			(c, tileX, tileY) -> {
+				if (c == CHAR_START && (tileX != 0 || tileY != scale - 1)) {
+					return CHAR_EMPTY;
+				}
+				if (c == CHAR_END && (tileX != scale - 1 || tileY != 0)) {
+					return CHAR_EMPTY;
+				}
+				return c;
+			}
+		);
+		final int tileHeight = puzzleInputByLines.size();
+		final int tileWidth = puzzleInputByLines.getFirst().length();
+		final char[][] map = new char[tiledInputByLines.size()][];
+		for (int y = 0; y < tiledInputByLines.size(); y++) {
+			map[y] = tiledInputByLines.get(y).toCharArray();
+		}
+
+		// a row where both the left and the right wall have an empty position next to them
+		final int holeRow = findHole(tileHeight, y -> puzzleInputByLines.get(y).charAt(1) != CHAR_WALL
+			&& puzzleInputByLines.get(y).charAt(tileWidth - 2) != CHAR_WALL);
+		// a column where both the top and the bottom wall have an empty position next to them
+		final int holeColumn = findHole(tileWidth, x -> puzzleInputByLines.get(1).charAt(x) != CHAR_WALL
+			&& puzzleInputByLines.get(tileHeight - 2).charAt(x) != CHAR_WALL);
+		for (int tileY = 0; tileY < scale; tileY++) {
+			for (int tileX = 0; tileX < scale; tileX++) {
+				if (tileX < scale - 1) { // open to the right neighbor tile
+					map[tileY * tileHeight + holeRow][tileX * tileWidth + tileWidth - 1] = CHAR_EMPTY;
+					map[tileY * tileHeight + holeRow][(tileX + 1) * tileWidth] = CHAR_EMPTY;
+				}
+				if (tileY < scale - 1) { // open to the bottom neighbor tile
+					map[tileY * tileHeight + tileHeight - 1][tileX * tileWidth + holeColumn] = CHAR_EMPTY;
+					map[(tileY + 1) * tileHeight][tileX * tileWidth + holeColumn] = CHAR_EMPTY;
+				}
+			}
+		}
+		final List<String> scaledInputByLines = new ArrayList<>(map.length);
+		for (final char[] row : map) {
+			scaledInputByLines.add(new String(row));
+		}
+		return scaledInputByLines;
+	}
+
+	@Benchmark
+	public long part1() {
+		return Main.solvePart1(inputByLines);
+	}
+
+	@Benchmark
+	public long part2() {
+		return Main.solvePart2(inputByLines);
+	}
+
+	private static int findHole(final int size, final IntPredicate isHole) {
+		for (int i = 1; i < size - 1; i++) {
+			if (isHole.test(i)) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("Can not connect the tiles of the maze, there is no empty position next to the walls");
+	}
+}
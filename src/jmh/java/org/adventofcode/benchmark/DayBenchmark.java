@@ -0,0 +1,60 @@
+package org.adventofcode.benchmark;
+
+import org.adventofcode.input.PuzzleInput;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common setup of the days' benchmarks: reads the day's "input.txt" (the same one the day's Main uses) and scales it
+ * up with the 'scale' parameter, so we can see how the parts behave on bigger inputs than the puzzle input.
+ * 'scale' == 1 is always the unmodified puzzle input. How an input is scaled depends on its format, see
+ * {@link InputScaler}.
+ * The input is there both as lines (for the days working with Strings) and as a {@link PuzzleInput}, both are made
+ * before the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public abstract class DayBenchmark {
+
+	@Param({"1", "2", "4"})
+	public int scale;
+
+	protected List<String> inputByLines;
+	protected PuzzleInput input;
+
+	@Setup(Level.Trial)
+	public void loadInput() throws IOException {
+		final PuzzleInput puzzleInput = PuzzleInput.load(dayMainClass());
+		if (scale == 1) {
+			input = puzzleInput;
+			inputByLines = puzzleInput.lines();
+		} else {
+			inputByLines = scaleInput(puzzleInput.lines(), scale);
+			input = PuzzleInput.of(inputByLines);
+		}
+	}
+
+	/**
+	 * The "input.txt" is read from the package of this class.
+	 */
+	protected abstract Class<?> dayMainClass();
+
+	protected abstract List<String> scaleInput(List<String> puzzleInputByLines, int scale);
+}
@@ -0,0 +1,110 @@
+package org.adventofcode.benchmark;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Makes a bigger input from a puzzle input, keeping its format so the days can parse it the same way.
+ * The scaled inputs are not real puzzles (the answers are not meaningful), they are only for watching how the
+ * solutions scale.
+ */
+@UtilityClass
+public class InputScaler {
+
+	/**
+	 * For the inputs where every line is independent (a list, a report, an equation, a robot, etc.).
+	 */
+	public static List<String> repeatLines(final List<String> inputByLines, final int scale) {
+		final List<String> scaledInputByLines = new ArrayList<>(inputByLines.size() * scale);
+		for (int i = 0; i < scale; i++) {
+			scaledInputByLines.addAll(inputByLines);
+		}
+		return scaledInputByLines;
+	}
+
+	/**
+	 * For the inputs which are blocks of lines separated by a blank line: the copies are separated by a blank line too.
+	 */
+	public static List<String> repeatBlocks(final List<String> inputByLines, final int scale) {
+		final boolean isEndingWithBlankLine = !inputByLines.isEmpty() && inputByLines.getLast().isBlank();
+		final List<String> scaledInputByLines = new ArrayList<>((inputByLines.size() + 1) * scale);
+		for (int i = 0; i < scale; i++) {
+			if (i > 0 && !isEndingWithBlankLine) {
+				scaledInputByLines.add("");
+			}
+			scaledInputByLines.addAll(inputByLines);
+		}
+		return scaledInputByLines;
+	}
+
+	/**
+	 * For the inputs which have a "header" section and a list after the (last) blank line, like rules + updates or
+	 * map + moves: the header is kept once, only the list after it is repeated.
+	 */
+	public static List<String> repeatSectionAfterBlankLine(final List<String> inputByLines, final int scale) {
+		int lastBlankLineIndex = -1;
+		for (int i = 0; i < inputByLines.size(); i++) {
+			if (inputByLines.get(i).isBlank()) {
+				lastBlankLineIndex = i;
+			}
+		}
+		final List<String> scaledInputByLines = new ArrayList<>(inputByLines.subList(0, lastBlankLineIndex + 1));
+		scaledInputByLines.addAll(repeatLines(inputByLines.subList(lastBlankLineIndex + 1, inputByLines.size()), scale));
+		return scaledInputByLines;
+	}
+
+	/**
+	 * For the dense disk map like inputs where 1 line is alternating between 2 kinds of digits: the line is repeated
+	 * within itself, with a '0' between the copies if the line has an odd length, so the alternation stays the same.
+	 */
+	public static List<String> repeatWithinLines(final List<String> inputByLines, final int scale) {
+		final List<String> scaledInputByLines = new ArrayList<>(inputByLines.size());
+		for (final String line : inputByLines) {
+			final String separator = line.length() % 2 == 1 ? "0" : "";
+			final StringBuilder scaledLine = new StringBuilder((line.length() + 1) * scale);
+			for (int i = 0; i < scale; i++) {
+				if (i > 0) {
+					scaledLine.append(separator);
+				}
+				scaledLine.append(line);
+			}
+			scaledInputByLines.add(scaledLine.toString());
+		}
+		return scaledInputByLines;
+	}
+
+	/**
+	 * For the map inputs: the map is tiled 'scale' times in both directions (so the map has 'scale' * 'scale' times more
+	 * positions).
+	 */
+	public static List<String> tileGrid(final List<String> inputByLines, final int scale) {
+		return tileGrid(inputByLines, scale, (c, tileX, tileY) -> c);
+	}
+
+	/**
+	 * @param tileCharMapper can change the characters of the tiles, for example to keep a starting position only in
+	 * 1 of the tiles
+	 */
+	public static List<String> tileGrid(final List<String> inputByLines, final int scale, final TileCharMapper tileCharMapper) {
+		final List<String> scaledInputByLines = new ArrayList<>(inputByLines.size() * scale);
+		for (int tileY = 0; tileY < scale; tileY++) {
+			for (final String line : inputByLines) {
+				final StringBuilder scaledLine = new StringBuilder(line.length() * scale);
+				for (int tileX = 0; tileX < scale; tileX++) {
+					for (int x = 0; x < line.length(); x++) {
+						scaledLine.append(tileCharMapper.map(line.charAt(x), tileX, tileY));
+					}
+				}
+				scaledInputByLines.add(scaledLine.toString());
+			}
+		}
+		return scaledInputByLines;
+	}
+
+	@FunctionalInterface
+	public interface TileCharMapper {
+		char map(char c, int tileX, int tileY);
+	}
+}
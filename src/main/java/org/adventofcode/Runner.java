@@ -0,0 +1,150 @@
+package org.adventofcode;
+
+import lombok.experimental.UtilityClass;
+import org.adventofcode.input.PuzzleInput;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs every registered {@link Solver} (or only the given days) and reports how long their parts take.
+ * Usage: {@code Runner [--warmup N] [--iterations N] [day...]}
+ * (the JVM option {@code --add-modules jdk.incubator.vector} turns on the SIMD code of the days which have it)
+ * <p>
+ * Every part is measured the same way:
+ * - cold: the very first call of the part in this JVM (interpreted code, class loading, etc.), for the days still
+ *   working with lines of Strings it includes making the Strings from the input
+ * - warmup: some calls which are not measured, so the JIT can compile the hot code
+ * - warm: the measured calls, reported with percentiles
+ * The allocated bytes are summed up over every live thread, so the parallel solutions are counted too.
+ * The answer has to be the same for every call, otherwise the solution is not deterministic and the runner fails.
+ */
+@UtilityClass
+public class Runner {
+
+	private static final int DEFAULT_WARMUP_ITERATIONS = 5;
+	private static final int DEFAULT_MEASUREMENT_ITERATIONS = 10;
+	private static final double NANOS_IN_A_MILLISECOND = 1_000_000.0;
+
+	public static void main(final String[] args) throws IOException {
+		int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+		int measurementIterations = DEFAULT_MEASUREMENT_ITERATIONS;
+		final Set<Integer> daysToRun = new HashSet<>();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--warmup" -> warmupIterations = Integer.parseInt(args[++i]);
+				case "--iterations" -> measurementIterations = Integer.parseInt(args[++i]);
+				default -> daysToRun.add(Integer.parseInt(args[i]));
+			}
+		}
+		if (measurementIterations < 1) {
+			throw new IllegalArgumentException("At least 1 measured iteration is needed, got: " + measurementIterations);
+		}
+
+		// find every registered day, sorted by the day and then by the variant name
+		final List<Solver> solvers = new ArrayList<>();
+		for (final Solver solver : ServiceLoader.load(Solver.class)) {
+			if (daysToRun.isEmpty() || daysToRun.contains(solver.day())) {
+				solvers.add(solver);
+			}
+		}
+		solvers.sort(Comparator.comparingInt(Solver::day).thenComparing(Solver::variant));
+
+		System.out.printf("warmup iterations: %d, measured iterations: %d%n", warmupIterations, measurementIterations);
+		for (final Solver solver : solvers) {
+			final PuzzleInput input = PuzzleInput.load(solver.getClass());
+			printMeasurement(solver, "part1", measure(solver::solvePart1, input, warmupIterations, measurementIterations));
+			printMeasurement(solver, "part2", measure(solver::solvePart2, input, warmupIterations, measurementIterations));
+		}
+	}
+
+	private static Measurement measure(
+		final ToLongFunction<PuzzleInput> part,
+		final PuzzleInput input,
+		final int warmupIterations,
+		final int measurementIterations
+	) {
+		final Sample coldSample = runOnce(part, input);
+		final long answer = coldSample.answer();
+		for (int i = 0; i < warmupIterations; i++) {
+			checkAnswer(answer, runOnce(part, input));
+		}
+		final long[] warmNanos = new long[measurementIterations];
+		long warmAllocatedBytes = 0;
+		for (int i = 0; i < measurementIterations; i++) {
+			final Sample warmSample = runOnce(part, input);
+			checkAnswer(answer, warmSample);
+			warmNanos[i] = warmSample.nanos();
+			warmAllocatedBytes += warmSample.allocatedBytes();
+		}
+		Arrays.sort(warmNanos);
+		return new Measurement(answer, coldSample, warmNanos, warmAllocatedBytes / measurementIterations);
+	}
+
+	private static Sample runOnce(final ToLongFunction<PuzzleInput> part, final PuzzleInput input) {
+		final long allocatedBytesBefore = allocatedBytesOfAllThreads();
+		final long start = System.nanoTime();
+		final long answer = part.applyAsLong(input);
+		final long nanos = System.nanoTime() - start;
+		return new Sample(answer, nanos, allocatedBytesOfAllThreads() - allocatedBytesBefore);
+	}
+
+	private static void checkAnswer(final long expectedAnswer, final Sample sample) {
+		if (sample.answer() != expectedAnswer) {
+			throw new IllegalStateException("The answer changed between 2 runs: " + expectedAnswer + " -> " + sample.answer());
+		}
+	}
+
+	/**
+	 * Threads which died between 2 calls are not counted anymore, so this is only an approximation for the parallel
+	 * solutions. The pool threads are long living, so it is good enough to see the differences.
+	 */
+	private static long allocatedBytesOfAllThreads() {
+		final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBytes = 0;
+		for (final long threadAllocatedBytes : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+			if (threadAllocatedBytes > 0) { // -1 if the thread is not alive anymore
+				allocatedBytes += threadAllocatedBytes;
+			}
+		}
+		return allocatedBytes;
+	}
+
+	private static void printMeasurement(final Solver solver, final String part, final Measurement measurement) {
+		System.out.printf(
+			"day%02d %-12s %s answer=%-16d cold=%9.3fms  warm: min=%9.3fms p50=%9.3fms p90=%9.3fms p99=%9.3fms max=%9.3fms  alloc/op: cold=%,d B warm=%,d B%n",
+			solver.day(),
+			solver.variant(),
+			part,
+			measurement.answer(),
+			measurement.coldSample().nanos() / NANOS_IN_A_MILLISECOND,
+			measurement.warmNanosSorted()[0] / NANOS_IN_A_MILLISECOND,
+			percentile(measurement.warmNanosSorted(), 50) / NANOS_IN_A_MILLISECOND,
+			percentile(measurement.warmNanosSorted(), 90) / NANOS_IN_A_MILLISECOND,
+			percentile(measurement.warmNanosSorted(), 99) / NANOS_IN_A_MILLISECOND,
+			measurement.warmNanosSorted()[measurement.warmNanosSorted().length - 1] / NANOS_IN_A_MILLISECOND,
+			measurement.coldSample().allocatedBytes(),
+			measurement.averageWarmAllocatedBytes()
+		);
+	}
+
+	/**
+	 * Nearest-rank percentile of an already sorted array.
+	 */
+	private static long percentile(final long[] sortedValues, final int percentile) {
+		final int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+		return sortedValues[Math.max(rank - 1, 0)];
+	}
+
+	private record Sample(long answer, long nanos, long allocatedBytes) {}
+
+	private record Measurement(long answer, Sample coldSample, long[] warmNanosSorted, long averageWarmAllocatedBytes) {}
+}
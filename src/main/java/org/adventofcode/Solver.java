@@ -0,0 +1,26 @@
+package org.adventofcode;
+
+import org.adventofcode.input.PuzzleInput;
+
+/**
+ * Common contract of a day's solution, so every day can be run and measured the same way by the {@link Runner}.
+ * The implementations are registered in {@code META-INF/services/org.adventofcode.Solver} and get their input from
+ * the "input.txt" next to them (same package) as a {@link PuzzleInput}.
+ * The solve methods should only calculate the answer: no printing, so the measured time is the solution itself.
+ */
+public interface Solver {
+
+	int day();
+
+	/**
+	 * More than 1 solution can be registered for the same day (for example an optimized one next to the original),
+	 * this name tells them apart in the reports.
+	 */
+	default String variant() {
+		return "default";
+	}
+
+	long solvePart1(PuzzleInput input);
+
+	long solvePart2(PuzzleInput input);
+}
@@ -1,17 +1,10 @@
 package org.adventofcode.day01;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.NumberScanner;
+import org.adventofcode.input.PuzzleInput;
 
 //--- Day 1: Historian Hysteria ---
 @UtilityClass
@@ -19,47 +12,74 @@ public class Main {
 
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
 
-		// put the content of the file into 2 Integer list
-		final List<Integer> leftList = new ArrayList<>();
-		final List<Integer> rightList = new ArrayList<>();
-		inputByLines.forEach(line -> {
-			final String[] lineSplit = line.split("   ");
-			leftList.add(Integer.parseInt(lineSplit[0]));
-			rightList.add(Integer.parseInt(lineSplit[1]));
-		});
+		System.out.println("totalDistance: " + solvePart1(input));
+		System.out.println("totalSimilarityScore = " + solvePart2(input));
+	}
 
-		// sort the 2 lists
-		Collections.sort(leftList);
-		Collections.sort(rightList);
+	public static long solvePart1(final PuzzleInput input) {
+		final LocationIdLists locationIdLists = convertToSortedLists(input);
+		final int[] leftList = locationIdLists.leftList();
+		final int[] rightList = locationIdLists.rightList();
 
 		// calculate the diff (=distance) of every pair in the 2 lists and add those diffs together
 		long totalDistance = 0;
-		for (int i = 0; i < leftList.size(); i++) {
-			totalDistance += Math.abs(leftList.get(i) - rightList.get(i));
+		for (int i = 0; i < leftList.length; i++) {
+			totalDistance += Math.abs(leftList[i] - rightList[i]);
 		}
-		System.out.println("totalDistance: " + totalDistance);
+		return totalDistance;
+	}
+
+	public static long solvePart2(final PuzzleInput input) {
+		final LocationIdLists locationIdLists = convertToSortedLists(input);
+		final int[] leftList = locationIdLists.leftList();
+		final int[] rightList = locationIdLists.rightList();
 
-		// part 2: calculate the "similarity score". +optimization: use a Map as cache for already calculated numbers
+		/*
+		part 2: calculate the "similarity score" (every left number multiplied by how many times it is in the right list).
+		Both lists are sorted, so it is a merge-join: walking the 2 lists together, the same numbers are next to each
+		other in both lists. A number which is in the left list more times adds its score that many times. Every number
+		is visited once, instead of going over the whole right list for every different left number.
+		 */
 		long totalSimilarityScore = 0;
-		final Map<Integer, Long> similarityCacheMap = new HashMap<>();
-		for (final Integer leftNumber : leftList) {
-			if (!similarityCacheMap.containsKey(leftNumber)) {
-				int occurrenceCounter = 0;
-				for (final Integer rightNumber : rightList) {
-					if (Objects.equals(leftNumber, rightNumber)) {
-						occurrenceCounter++;
-					}
-				}
-				final long similarityScore = (long) leftNumber * occurrenceCounter;
-				similarityCacheMap.put(leftNumber, similarityScore);
+		int rightIndex = 0;
+		int leftIndex = 0;
+		while (leftIndex < leftList.length) {
+			final int leftNumber = leftList[leftIndex];
+			int leftOccurrenceCounter = 0;
+			while (leftIndex < leftList.length && leftList[leftIndex] == leftNumber) {
+				leftOccurrenceCounter++;
+				leftIndex++;
+			}
+			while (rightIndex < rightList.length && rightList[rightIndex] < leftNumber) {
+				rightIndex++;
+			}
+			int rightOccurrenceCounter = 0;
+			while (rightIndex < rightList.length && rightList[rightIndex] == leftNumber) {
+				rightOccurrenceCounter++;
+				rightIndex++;
 			}
-			totalSimilarityScore += similarityCacheMap.get(leftNumber);
+			totalSimilarityScore += (long) leftNumber * leftOccurrenceCounter * rightOccurrenceCounter;
 		}
-		System.out.println("totalSimilarityScore = " + totalSimilarityScore);
+		return totalSimilarityScore;
 	}
+
+	private static LocationIdLists convertToSortedLists(final PuzzleInput input) {
+		// put the content of the file into 2 int arrays (1 line is 1 number in both)
+		final int[] leftList = new int[input.lineCount()];
+		final int[] rightList = new int[input.lineCount()];
+		final NumberScanner numberScanner = new NumberScanner(input);
+		for (int i = 0; i < input.lineCount(); i++) {
+			leftList[i] = numberScanner.nextInt();
+			rightList[i] = numberScanner.nextInt();
+		}
+
+		// sort the 2 lists (radix sort, so the sorting is linear too on the big inputs)
+		RadixSort.parallelSort(leftList);
+		RadixSort.parallelSort(rightList);
+		return new LocationIdLists(leftList, rightList);
+	}
+
+	private record LocationIdLists(int[] leftList, int[] rightList) {}
 }
@@ -0,0 +1,95 @@
+package org.adventofcode.day01;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * LSD radix sort of an int array, 1 byte (256 buckets) per pass, so it is 4 passes over the array no matter how big it
+ * is: O(n) instead of the O(n log n) of a comparison sort.
+ * The big arrays are cut into chunks (1 per core), every chunk counts its own buckets and moves its own numbers in
+ * parallel. Each chunk gets its own place in every bucket (after the places of the previous chunks), so the sort stays
+ * stable, which is needed for the next passes.
+ * A pass is skipped if every number has the same byte at that pass (like the highest byte of the 5-digit location IDs).
+ */
+@UtilityClass
+public class RadixSort {
+
+	private static final int BITS_PER_PASS = 8;
+	private static final int BUCKET_COUNT = 1 << BITS_PER_PASS;
+	private static final int BUCKET_MASK = BUCKET_COUNT - 1;
+	// smaller arrays are not worth to split up, the threads would cost more than the sort itself
+	private static final int MIN_CHUNK_LENGTH = 1 << 16;
+
+	public static void parallelSort(final int[] numbers) {
+		if (numbers.length < 2) {
+			return;
+		}
+		final int chunkCount = Math.clamp(numbers.length / MIN_CHUNK_LENGTH, 1, ForkJoinPool.getCommonPoolParallelism());
+		final int chunkLength = Math.ceilDiv(numbers.length, chunkCount);
+		final int[][] bucketOffsetsByChunk = new int[chunkCount][BUCKET_COUNT];
+		int[] source = numbers;
+		int[] target = new int[numbers.length];
+		for (int shift = 0; shift < Integer.SIZE; shift += BITS_PER_PASS) {
+			final int[] passSource = source;
+			final int[] passTarget = target;
+			final int passShift = shift;
+
+			// count the numbers in every bucket, by chunks
+			chunks(chunkCount).forEach(chunk -> {
+				final int[] bucketCounts = bucketOffsetsByChunk[chunk];
+				Arrays.fill(bucketCounts, 0);
+				final int chunkEnd = Math.min((chunk + 1) * chunkLength, passSource.length);
+				for (int i = chunk * chunkLength; i < chunkEnd; i++) {
+					bucketCounts[bucket(passSource[i], passShift)]++;
+				}
+			});
+
+			// turn the counts into the offsets where the chunks can start to put their numbers of a bucket
+			int offset = 0;
+			boolean isEveryNumberInTheSameBucket = false;
+			for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+				final int bucketStart = offset;
+				for (int chunk = 0; chunk < chunkCount; chunk++) {
+					final int bucketCount = bucketOffsetsByChunk[chunk][bucket];
+					bucketOffsetsByChunk[chunk][bucket] = offset;
+					offset += bucketCount;
+				}
+				if (offset - bucketStart == numbers.length) {
+					isEveryNumberInTheSameBucket = true;
+				}
+			}
+			if (isEveryNumberInTheSameBucket) {
+				continue; // this pass would not change the order
+			}
+
+			// move the numbers into their buckets, by chunks
+			chunks(chunkCount).forEach(chunk -> {
+				final int[] bucketOffsets = bucketOffsetsByChunk[chunk];
+				final int chunkEnd = Math.min((chunk + 1) * chunkLength, passSource.length);
+				for (int i = chunk * chunkLength; i < chunkEnd; i++) {
+					passTarget[bucketOffsets[bucket(passSource[i], passShift)]++] = passSource[i];
+				}
+			});
+			source = passTarget;
+			target = passSource;
+		}
+		if (source != numbers) {
+			System.arraycopy(source, 0, numbers, 0, numbers.length);
+		}
+	}
+
+	/**
+	 * The sign bit is flipped, so the negative numbers are in the first buckets of the last pass.
+	 */
+	private static int bucket(final int number, final int shift) {
+		return ((number ^ Integer.MIN_VALUE) >>> shift) & BUCKET_MASK;
+	}
+
+	private static IntStream chunks(final int chunkCount) {
+		final IntStream chunks = IntStream.range(0, chunkCount);
+		return chunkCount > 1 ? chunks.parallel() : chunks;
+	}
+}
@@ -1,80 +1,65 @@
 package org.adventofcode.day02;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.NumberScanner;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 //--- Day 2: Red-Nosed Reports ---
 @UtilityClass
 public class Main {
 
+	// below this many reports (lines) a task counts them itself instead of splitting them into 2 smaller tasks
+	private static final int REPORTS_PER_TASK = 4096;
+	private static final int NO_UNSAFE_STEP = -1;
+	private static final int NO_SKIPPED_LEVEL = -1;
+
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
 
-		// put the content of the file into a list (1000 size), which consists of around 5-8 Integers
-		final List<List<Integer>> input = new ArrayList<>(1000);
-		inputByLines.forEach(line -> {
-			final List<Integer> numbersInTheLine = new ArrayList<>(8);
-			final String[] lineSplit = line.split(" ");
-			for (final String numberInTheLine : lineSplit) {
-				numbersInTheLine.add(Integer.parseInt(numberInTheLine));
-			}
-			input.add(numbersInTheLine);
-		});
+		System.out.println("safeReportCounter = " + solvePart1(input));
+		System.out.println("safeReportCounterWithProblemDampener = " + solvePart2(input));
+	}
 
+	public static long solvePart1(final PuzzleInput input) {
 		/*
 		Count how many reports (lines) are safe (the numbers inside are called levels). A report is safe if:
 		The levels are either all increasing or all decreasing
 		AND
 		Any two adjacent levels differ by at least one and at most three.
 		 */
-		int safeReportCounter = 0;
-		for (final List<Integer> report : input) {
-			if (isSafeReport(report)) {
-				safeReportCounter++;
-			}
-		}
-		System.out.println("safeReportCounter = " + safeReportCounter);
+		return ForkJoinPool.commonPool().invoke(
+			new SafeReportCounterTask(input, maxLevelsInAReport(input), 0, input.lineCount(), false)
+		);
+	}
 
+	public static long solvePart2(final PuzzleInput input) {
 		/*
 		part 2: calculate the safe reports considering the "Problem Dampener"
 		"if removing a single level from an unsafe report would make it safe, the report instead counts as safe"
-		TODO the 2 iteration over 'input' could be 1 instead, but it is just a 1000 entry and I want to separate better the 2 parts of the puzzle instead
 		 */
-		int safeReportCounterWithProblemDampener = 0;
-		for (final List<Integer> report : input) {
-			if (isSafeReport(report)) {
-				safeReportCounterWithProblemDampener++;
-			} else {
-				// check if the report is safe if we remove 1 element from it (try until it is considered safe or until we tried with every level)
-				//TODO probably less tries would be enough to test if the report would be safe, but I am leaving this "unoptimised" solution since there are so few levels in 1 report
-				for (int i = 0; i < report.size(); i++) {
-					final List<Integer> oneLevelRemovedReport = new ArrayList<>(report);
-					oneLevelRemovedReport.remove(i);
-					if (isSafeReport(oneLevelRemovedReport)) {
-						safeReportCounterWithProblemDampener++;
-						break;
-					}
-				}
-			}
-		}
-		System.out.println("safeReportCounterWithProblemDampener = " + safeReportCounterWithProblemDampener);
+		return ForkJoinPool.commonPool().invoke(
+			new SafeReportCounterTask(input, maxLevelsInAReport(input), 0, input.lineCount(), true)
+		);
 	}
 
-	private static boolean isSafeReport(final List<Integer> report) {
-		final boolean isLevelsIncreasing = report.get(1) > report.getFirst();
-		for (int i = 0; i < report.size() - 1; i++) { // because we always look 1 element further
-			final Integer currentLevel = report.get(i);
-			final Integer nextLevel = report.get(i + 1);
+	/**
+	 * The reports are only read into a reused level buffer (1 per task), so the counting doesn't allocate per report.
+	 */
+	private static int maxLevelsInAReport(final PuzzleInput input) {
+		return (input.maxLineLength() + 1) / 2;
+	}
+
+	private static boolean isSafeReport(final int[] report, final int levelCount) {
+		final boolean isLevelsIncreasing = report[1] > report[0];
+		for (int i = 0; i < levelCount - 1; i++) { // because we always look 1 element further
+			final int currentLevel = report[i];
+			final int nextLevel = report[i + 1];
 			if (isLevelsIncreasing && currentLevel >= nextLevel) {
 				break; // levels decrease but should increase -> unsafe
 			}
@@ -85,10 +70,117 @@ public class Main {
 			if (levelDifference < 1 || levelDifference > 3) {
 				break; // levels difference are too small (0) or too big (more than 3) -> unsafe
 			}
-			if (i == report.size() - 2) {
+			if (i == levelCount - 2) {
 				return true; // we did not stop the iteration of the levels and reached the end -> this report is safe
 			}
 		}
 		return false;
 	}
+
+	/**
+	 * Instead of trying to remove every level one by one (and copying the report for each), only 2 levels can be
+	 * the ones to remove: if the step between level i and i+1 is unsafe, then one of those 2 levels has to be removed
+	 * (otherwise they stay next to each other and the step stays unsafe). So for both directions (increasing or
+	 * decreasing) it is: find the first unsafe step, then check the report without level i, then without level i+1.
+	 * That is at most 6 walks over the report: O(k) instead of O(k^2), and no copy, the removed level is just skipped.
+	 */
+	private static boolean isSafeReportWithProblemDampener(final int[] report, final int levelCount) {
+		if (isSafeReport(report, levelCount)) {
+			return true;
+		}
+		if (levelCount - 1 < 2) {
+			return false; // like in 'isSafeReport()', less than 2 levels are not considered safe
+		}
+		return isSafeWithOneLevelRemoved(report, levelCount, true) || isSafeWithOneLevelRemoved(report, levelCount, false);
+	}
+
+	private static boolean isSafeWithOneLevelRemoved(final int[] report, final int levelCount, final boolean isLevelsIncreasing) {
+		final int firstUnsafeStep = findFirstUnsafeStep(report, levelCount, isLevelsIncreasing, NO_SKIPPED_LEVEL);
+		return firstUnsafeStep == NO_UNSAFE_STEP
+			|| findFirstUnsafeStep(report, levelCount, isLevelsIncreasing, firstUnsafeStep) == NO_UNSAFE_STEP
+			|| findFirstUnsafeStep(report, levelCount, isLevelsIncreasing, firstUnsafeStep + 1) == NO_UNSAFE_STEP;
+	}
+
+	/**
+	 * @return the index of the level where the first unsafe step starts (without the skipped level), or
+	 * {@link #NO_UNSAFE_STEP} if every step is safe
+	 */
+	private static int findFirstUnsafeStep(
+		final int[] report,
+		final int levelCount,
+		final boolean isLevelsIncreasing,
+		final int skippedLevel
+	) {
+		int previousLevelIndex = -1;
+		for (int i = 0; i < levelCount; i++) {
+			if (i == skippedLevel) {
+				continue;
+			}
+			if (previousLevelIndex != -1) {
+				final int levelDifference = isLevelsIncreasing
+					? report[i] - report[previousLevelIndex]
+					: report[previousLevelIndex] - report[i];
+				if (levelDifference < 1 || levelDifference > 3) {
+					return previousLevelIndex;
+				}
+			}
+			previousLevelIndex = i;
+		}
+		return NO_UNSAFE_STEP;
+	}
+
+	/**
+	 * Counts the safe reports of the lines between 'fromLine' (inclusive) and 'toLine' (exclusive). The big ranges are
+	 * split in half (fork/join), so the millions of reports are counted on every core. The input is only read, so
+	 * the tasks can share it, but every task has its own scanner and level buffer.
+	 */
+	private static final class SafeReportCounterTask extends RecursiveTask<Long> {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final transient PuzzleInput input; // the task is never serialized, it only runs in the pool
+		private final int maxLevelsInAReport;
+		private final int fromLine;
+		private final int toLine;
+		private final boolean isProblemDampenerOn;
+
+		private SafeReportCounterTask(
+			final PuzzleInput input,
+			final int maxLevelsInAReport,
+			final int fromLine,
+			final int toLine,
+			final boolean isProblemDampenerOn
+		) {
+			this.input = input;
+			this.maxLevelsInAReport = maxLevelsInAReport;
+			this.fromLine = fromLine;
+			this.toLine = toLine;
+			this.isProblemDampenerOn = isProblemDampenerOn;
+		}
+
+		@Override
+		protected Long compute() {
+			if (toLine - fromLine > REPORTS_PER_TASK) {
+				final int middleLine = (fromLine + toLine) >>> 1;
+				final SafeReportCounterTask secondHalf = new SafeReportCounterTask(input, maxLevelsInAReport, middleLine, toLine, isProblemDampenerOn);
+				secondHalf.fork();
+				final long firstHalfSafeReportCounter = new SafeReportCounterTask(input, maxLevelsInAReport, fromLine, middleLine, isProblemDampenerOn).compute();
+				return firstHalfSafeReportCounter + secondHalf.join();
+			}
+			final NumberScanner numberScanner = new NumberScanner(input);
+			final int[] report = new int[maxLevelsInAReport]; // reused for every report
+			long safeReportCounter = 0;
+			for (int line = fromLine; line < toLine; line++) {
+				final int levelCount = numberScanner.resetToLine(line).nextInts(report);
+				final boolean isSafe = isProblemDampenerOn
+					? isSafeReportWithProblemDampener(report, levelCount)
+					: isSafeReport(report, levelCount);
+				if (isSafe) {
+					safeReportCounter++;
+				}
+			}
+			return safeReportCounter;
+		}
+	}
 }
@@ -0,0 +1,222 @@
+package org.adventofcode.day03;
+
+import lombok.Getter;
+import org.adventofcode.input.PuzzleInput;
+
+/**
+ * A hand-written state machine (DFA) which finds the "mul(X,Y)" (X and Y are 1-3 digit numbers), "do()" and "don't()"
+ * instructions in the corrupted memory, byte by byte in 1 pass. The numbers are calculated while they are read, so
+ * there is no String, no regex and no allocation at all.
+ * The state is kept between the calls, so the memory can be given in any chunks (from a mapped file, from a stream's
+ * buffer, etc.), an instruction can be split between 2 chunks. Only the sums have to fit in the memory, not the input.
+ * <p>
+ * If a byte doesn't fit into the instruction being read, the instruction is dropped, and the byte is checked again as
+ * the start of a new instruction. This is enough to not miss any instruction: the instructions start with 'm' or 'd',
+ * and there is no 'm' or 'd' inside them (only at the start), so a dropped instruction can't hide the start of another
+ * one, except at the byte where it failed.
+ * <p>
+ * To scan the chunks of the input in parallel, a chunk can't know if the instructions are enabled at its start (that
+ * depends on the last "do()" or "don't()" before it). So the enabled sum is counted for both cases: as if the chunk
+ * started enabled, and as if it started disabled. After the first "do()" or "don't()" the 2 cases are the same.
+ * When every chunk is done, going over them in order tells which case was the real one, see
+ * {@link #getSumOfAllEnabledMul(boolean)} and {@link #isInstructionsEnabled(boolean)}.
+ */
+public final class InstructionScanner {
+
+	private static final int STATE_START = 0;
+	private static final int STATE_M = 1;
+	private static final int STATE_MU = 2;
+	private static final int STATE_MUL = 3;
+	private static final int STATE_FIRST_NUMBER = 4; // after "mul(", reading X
+	private static final int STATE_SECOND_NUMBER = 5; // after "mul(X,", reading Y
+	private static final int STATE_D = 6;
+	private static final int STATE_DO = 7;
+	private static final int STATE_DO_OPEN = 8; // "do("
+	private static final int STATE_DON = 9;
+	private static final int STATE_DON_APOSTROPHE = 10; // "don'"
+	private static final int STATE_DONT = 11; // "don't"
+	private static final int STATE_DONT_OPEN = 12; // "don't("
+	private static final int MAX_DIGITS = 3;
+
+	private int state = STATE_START;
+	private int firstNumber;
+	private int secondNumber;
+	private int digitCount;
+	private boolean instructionsEnabledIfStartedEnabled = true;
+	private boolean instructionsEnabledIfStartedDisabled = false;
+	@Getter
+	private long sumOfAllMul;
+	private long sumOfAllEnabledMulIfStartedEnabled;
+	private long sumOfAllEnabledMulIfStartedDisabled;
+
+	public InstructionScanner scan(final PuzzleInput input, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			scan(input.byteAt(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Scans the instructions which start between 'chunkStart' (inclusive) and 'chunkEnd' (exclusive). An instruction
+	 * started in the chunk is read to its end even after 'chunkEnd', and an instruction started before 'chunkStart'
+	 * is not counted (its end is only some bytes which don't start an instruction). So every instruction is counted
+	 * by exactly 1 chunk, even the ones on the border of 2 chunks.
+	 */
+	public InstructionScanner scanChunk(final PuzzleInput input, final int chunkStart, final int chunkEnd) {
+		scan(input, chunkStart, chunkEnd);
+		for (int i = chunkEnd; i < input.length() && state != STATE_START; i++) {
+			if (!step(input.byteAt(i))) {
+				state = STATE_START; // the instruction was not finished, and the next one starts in the next chunk
+			}
+		}
+		return this;
+	}
+
+	public InstructionScanner scan(final byte[] bytes, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			scan(bytes[i]);
+		}
+		return this;
+	}
+
+	public void scan(final byte b) {
+		if (!step(b)) {
+			// the instruction being read is dropped, but this byte can be the start of the next one
+			state = STATE_START;
+			step(b);
+		}
+	}
+
+	/**
+	 * @return false if the byte doesn't fit into the instruction being read
+	 */
+	private boolean step(final byte b) {
+		switch (state) {
+			case STATE_START -> {
+				if (b == 'm') {
+					state = STATE_M;
+				} else if (b == 'd') {
+					state = STATE_D;
+				}
+				return true; // anything else is just the corrupted memory between the instructions
+			}
+			case STATE_M -> {
+				return next(b == 'u', STATE_MU);
+			}
+			case STATE_MU -> {
+				return next(b == 'l', STATE_MUL);
+			}
+			case STATE_MUL -> {
+				if (b == '(') {
+					firstNumber = 0;
+					digitCount = 0;
+					state = STATE_FIRST_NUMBER;
+					return true;
+				}
+				return false;
+			}
+			case STATE_FIRST_NUMBER -> {
+				if (isDigit(b) && digitCount < MAX_DIGITS) {
+					firstNumber = firstNumber * 10 + (b - '0');
+					digitCount++;
+					return true;
+				}
+				if (b == ',' && digitCount > 0) {
+					secondNumber = 0;
+					digitCount = 0;
+					state = STATE_SECOND_NUMBER;
+					return true;
+				}
+				return false;
+			}
+			case STATE_SECOND_NUMBER -> {
+				if (isDigit(b) && digitCount < MAX_DIGITS) {
+					secondNumber = secondNumber * 10 + (b - '0');
+					digitCount++;
+					return true;
+				}
+				if (b == ')' && digitCount > 0) {
+					final long mulResult = (long) firstNumber * secondNumber;
+					sumOfAllMul += mulResult;
+					if (instructionsEnabledIfStartedEnabled) {
+						sumOfAllEnabledMulIfStartedEnabled += mulResult;
+					}
+					if (instructionsEnabledIfStartedDisabled) {
+						sumOfAllEnabledMulIfStartedDisabled += mulResult;
+					}
+					state = STATE_START;
+					return true;
+				}
+				return false;
+			}
+			case STATE_D -> {
+				return next(b == 'o', STATE_DO);
+			}
+			case STATE_DO -> {
+				if (b == '(') {
+					state = STATE_DO_OPEN;
+					return true;
+				}
+				return next(b == 'n', STATE_DON);
+			}
+			case STATE_DO_OPEN -> {
+				if (b == ')') {
+					instructionsEnabledIfStartedEnabled = true;
+					instructionsEnabledIfStartedDisabled = true;
+					state = STATE_START;
+					return true;
+				}
+				return false;
+			}
+			case STATE_DON -> {
+				return next(b == '\'', STATE_DON_APOSTROPHE);
+			}
+			case STATE_DON_APOSTROPHE -> {
+				return next(b == 't', STATE_DONT);
+			}
+			case STATE_DONT -> {
+				return next(b == '(', STATE_DONT_OPEN);
+			}
+			case STATE_DONT_OPEN -> {
+				if (b == ')') {
+					instructionsEnabledIfStartedEnabled = false;
+					instructionsEnabledIfStartedDisabled = false;
+					state = STATE_START;
+					return true;
+				}
+				return false;
+			}
+			default -> throw new IllegalStateException("Unknown state: " + state);
+		}
+	}
+
+	/**
+	 * The sum of the enabled "mul" instructions, if the whole input was scanned by this scanner (the instructions are
+	 * enabled at the start of the memory).
+	 */
+	public long getSumOfAllEnabledMul() {
+		return getSumOfAllEnabledMul(true);
+	}
+
+	public long getSumOfAllEnabledMul(final boolean isStartedEnabled) {
+		return isStartedEnabled ? sumOfAllEnabledMulIfStartedEnabled : sumOfAllEnabledMulIfStartedDisabled;
+	}
+
+	/**
+	 * @return if the instructions are enabled after the scanned bytes
+	 */
+	public boolean isInstructionsEnabled(final boolean isStartedEnabled) {
+		return isStartedEnabled ? instructionsEnabledIfStartedEnabled : instructionsEnabledIfStartedDisabled;
+	}
+
+	private boolean next(final boolean isExpectedByte, final int nextState) {
+		if (isExpectedByte) {
+			state = nextState;
+		}
+		return isExpectedByte;
+	}
+
+	private static boolean isDigit(final byte b) {
+		return b >= '0' && b <= '9';
+	}
+}
@@ -1,70 +1,68 @@
 package org.adventofcode.day03;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 //--- Day 3: Mull It Over ---
 @UtilityClass
 public class Main {
 
+	// smaller inputs are not worth to split up, the threads would cost more than the scanning itself
+	private static final int MIN_CHUNK_LENGTH = 1 << 20;
+
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
+
+		System.out.println("sumOfAllMul = " + solvePart1(input));
+		System.out.println("sumOfAllEnabledMul = " + solvePart2(input));
+	}
 
-		// go over the input line by line and collect the valid "mul" instructions
+	public static long solvePart1(final PuzzleInput input) {
+		// go over the input and collect the valid "mul" instructions
 		// multiply the valid "mul" instructions and add them all up
-		final String mulRegex = "mul\\(\\d{1,3},\\d{1,3}\\)"; // targets "mul(X,Y)", where X and Y are each 1-3 digit numbers
-		final Pattern mulPattern = Pattern.compile(mulRegex);
 		long sumOfAllMul = 0;
-		for (final String inputByLine : inputByLines) {
-			final Matcher mulMatcher = mulPattern.matcher(inputByLine);
-			while (mulMatcher.find()) {
-				sumOfAllMul += getMulResult(mulMatcher.group());
-			}
+		for (final InstructionScanner chunkScanner : scanInChunks(input)) {
+			sumOfAllMul += chunkScanner.getSumOfAllMul();
 		}
-		System.out.println("sumOfAllMul = " + sumOfAllMul);
+		return sumOfAllMul;
+	}
 
-		// part 2: also consider "do()" and "don't()" "instructions" before "mul" instructions
-		final String doRegex = "do\\(\\)";
-		final String dontRegex = "don't\\(\\)";
-		final String mulOrDoOrDontRegex = String.format("%s|%s|%s", mulRegex, doRegex, dontRegex); // targets all 3 instructions (mul/do/dont)
-		final Pattern mulOrDoOrDontPattern = Pattern.compile(mulOrDoOrDontRegex);
+	public static long solvePart2(final PuzzleInput input) {
+		/*
+		part 2: also consider "do()" and "don't()" "instructions" before "mul" instructions
+		Every chunk has its sum for both cases (started enabled or disabled), going over the chunks in order we know
+		which case is the real one for every chunk: the instructions are enabled at the start of the memory, and a
+		chunk starts with the state the previous chunk ended with.
+		 */
 		boolean instructionsEnabled = true;
 		long sumOfAllEnabledMul = 0;
-		for (final String inputByLine : inputByLines) {
-			final Matcher mulOrDoOrDontPatternMatcher = mulOrDoOrDontPattern.matcher(inputByLine);
-			while (mulOrDoOrDontPatternMatcher.find()) {
-				final String match = mulOrDoOrDontPatternMatcher.group();
-				if (match.equals("do()")) {
-					instructionsEnabled = true;
-				} else if (match.equals("don't()")) {
-					instructionsEnabled = false;
-				} else if (match.matches(mulRegex)) {
-					if (instructionsEnabled) {
-						sumOfAllEnabledMul += getMulResult(match);
-					}
-				} else {
-					throw new IllegalArgumentException("Unknown regex match: " + match);
-				}
-			}
+		for (final InstructionScanner chunkScanner : scanInChunks(input)) {
+			sumOfAllEnabledMul += chunkScanner.getSumOfAllEnabledMul(instructionsEnabled);
+			instructionsEnabled = chunkScanner.isInstructionsEnabled(instructionsEnabled);
 		}
-		System.out.println("sumOfAllEnabledMul = " + sumOfAllEnabledMul);
+		return sumOfAllEnabledMul;
 	}
 
-	// 'mulString' example: "mul(382,128)"
-	private static long getMulResult(final String mulString) {
-		final String twoNumbersSeparatedWithComma = mulString.substring("mul(".length(), mulString.length() - 1);
-		final String[] split = twoNumbersSeparatedWithComma.split(",");
-		return Long.parseLong(split[0]) * Long.parseLong(split[1]);
+	/**
+	 * Splits the input into chunks (1 per core, if the input is big enough) and scans them in parallel.
+	 *
+	 * @return the scanners of the chunks, in the order of the chunks
+	 */
+	private static InstructionScanner[] scanInChunks(final PuzzleInput input) {
+		final int chunkCount = Math.clamp(input.length() / MIN_CHUNK_LENGTH, 1, ForkJoinPool.getCommonPoolParallelism());
+		final int chunkLength = Math.ceilDiv(input.length(), chunkCount);
+		final IntStream chunks = IntStream.range(0, chunkCount);
+		return (chunkCount > 1 ? chunks.parallel() : chunks)
+			.mapToObj(chunk -> new InstructionScanner().scanChunk(
+				input,
+				chunk * chunkLength,
+				Math.min((chunk + 1) * chunkLength, input.length())
+			))
+			.toArray(InstructionScanner[]::new);
 	}
 }
@@ -0,0 +1,131 @@
+package org.adventofcode.day04;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho–Corasick automaton of a word list: the letters of a text are given 1 by 1, and after each letter it tells which
+ * words end there. Every word is found in 1 pass over the text, no matter how many words there are, so K words are
+ * not K passes over the grid.
+ * <p>
+ * The automaton is built into a full transition table (the failure links are already followed while building), so
+ * 1 letter is 1 table lookup. Only the letters of the words have their own column in the table, every other byte is
+ * the same "other" letter, which always goes back to the start.
+ * The automaton is not changed after it is built, so it can be used by more threads at the same time, only the
+ * state and the counts have to be their own.
+ */
+public final class AhoCorasick {
+
+	public static final int START_STATE = 0;
+	private static final int OTHER_LETTER = 0;
+
+	private final List<String> words;
+	private final int[] letterIndexByByte = new int[256]; // OTHER_LETTER for the bytes which are not in any word
+	private final int letterCount;
+	private final int[] transitions; // transitions[state * letterCount + letterIndex] = next state
+	private final int[][] wordIndexesEndingByState;
+
+	public AhoCorasick(final List<String> words) {
+		this.words = List.copyOf(words);
+
+		// the letters of the words get the columns of the table
+		int nextLetterIndex = OTHER_LETTER + 1;
+		for (final String word : this.words) {
+			if (word.isEmpty()) {
+				throw new IllegalArgumentException("The words can't be empty");
+			}
+			for (final byte letter : word.getBytes(StandardCharsets.US_ASCII)) {
+				if (letterIndexByByte[letter & 0xFF] == OTHER_LETTER) {
+					letterIndexByByte[letter & 0xFF] = nextLetterIndex++;
+				}
+			}
+		}
+		letterCount = nextLetterIndex;
+
+		// the trie of the words (-1: no transition yet)
+		final List<int[]> trie = new ArrayList<>();
+		final List<List<Integer>> wordIndexesEnding = new ArrayList<>();
+		trie.add(newEmptyState());
+		wordIndexesEnding.add(new ArrayList<>());
+		for (int wordIndex = 0; wordIndex < this.words.size(); wordIndex++) {
+			int state = START_STATE;
+			for (final byte letter : this.words.get(wordIndex).getBytes(StandardCharsets.US_ASCII)) {
+				final int letterIndex = letterIndexByByte[letter & 0xFF];
+				if (trie.get(state)[letterIndex] == -1) {
+					trie.get(state)[letterIndex] = trie.size();
+					trie.add(newEmptyState());
+					wordIndexesEnding.add(new ArrayList<>());
+				}
+				state = trie.get(state)[letterIndex];
+			}
+			wordIndexesEnding.get(state).add(wordIndex);
+		}
+
+		/*
+		Breadth first over the trie, so the failure state (the longest suffix which is also in the trie) of a state is
+		always done before the state itself. The missing transitions go where the failure state would go, and a state
+		also ends the words which end at its failure state (they are suffixes of it).
+		 */
+		transitions = new int[trie.size() * letterCount];
+		final int[] failureStates = new int[trie.size()];
+		final Queue<Integer> statesToVisit = new ArrayDeque<>();
+		for (int letterIndex = 0; letterIndex < letterCount; letterIndex++) {
+			final int nextState = trie.get(START_STATE)[letterIndex];
+			if (nextState == -1) {
+				transitions[START_STATE * letterCount + letterIndex] = START_STATE;
+			} else {
+				transitions[START_STATE * letterCount + letterIndex] = nextState;
+				failureStates[nextState] = START_STATE;
+				statesToVisit.add(nextState);
+			}
+		}
+		while (!statesToVisit.isEmpty()) {
+			final int state = statesToVisit.poll();
+			wordIndexesEnding.get(state).addAll(wordIndexesEnding.get(failureStates[state]));
+			for (int letterIndex = 0; letterIndex < letterCount; letterIndex++) {
+				final int nextState = trie.get(state)[letterIndex];
+				final int failureTransition = transitions[failureStates[state] * letterCount + letterIndex];
+				if (nextState == -1) {
+					transitions[state * letterCount + letterIndex] = failureTransition;
+				} else {
+					transitions[state * letterCount + letterIndex] = nextState;
+					failureStates[nextState] = failureTransition;
+					statesToVisit.add(nextState);
+				}
+			}
+		}
+		wordIndexesEndingByState = wordIndexesEnding.stream()
+			.map(wordIndexes -> wordIndexes.stream().mapToInt(Integer::intValue).toArray())
+			.toArray(int[][]::new);
+	}
+
+	public List<String> getWords() {
+		return words;
+	}
+
+	/**
+	 * @return the state after the letter
+	 */
+	public int next(final int state, final byte letter) {
+		return transitions[state * letterCount + letterIndexByByte[letter & 0xFF]];
+	}
+
+	/**
+	 * Adds 1 to the count (by the index of the word in the word list) of every word ending at this state.
+	 */
+	public void countWordsEndingAt(final int state, final long[] wordCounts) {
+		for (final int wordIndex : wordIndexesEndingByState[state]) {
+			wordCounts[wordIndex]++;
+		}
+	}
+
+	private int[] newEmptyState() {
+		final int[] state = new int[letterCount];
+		Arrays.fill(state, -1);
+		return state;
+	}
+}
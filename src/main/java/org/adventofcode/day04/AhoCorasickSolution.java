@@ -0,0 +1,31 @@
+package org.adventofcode.day04;
+
+import org.adventofcode.Solver;
+import org.adventofcode.input.PuzzleInput;
+
+/**
+ * Part 1 with 1 pass over every line of the grid, for comparing it with the anchor letter search (part 2 has no
+ * other way, it is the same as the default).
+ */
+public class AhoCorasickSolution implements Solver {
+
+	@Override
+	public int day() {
+		return 4;
+	}
+
+	@Override
+	public String variant() {
+		return "aho-corasick";
+	}
+
+	@Override
+	public long solvePart1(final PuzzleInput input) {
+		return Main.solvePart1WithAhoCorasick(input);
+	}
+
+	@Override
+	public long solvePart2(final PuzzleInput input) {
+		return Main.solvePart2(input);
+	}
+}
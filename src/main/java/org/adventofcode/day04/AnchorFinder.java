@@ -0,0 +1,31 @@
+package org.adventofcode.day04;
+
+/**
+ * Finds the anchor letters in a part of a row, and sums up what the counter gives for them.
+ * The Vector API is still an incubator module, so it is only used if the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, otherwise the letters are compared 1 by 1. The 2 give the same result,
+ * only the speed is different.
+ */
+interface AnchorFinder {
+
+	AnchorFinder INSTANCE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+		? new VectorAnchorFinder() // only loaded if the module is there
+		: AnchorFinder::countAtAnchorsOneByOne;
+
+	long countAtAnchors(byte[] cells, int from, int to, byte anchor, AnchorCounter anchorCounter);
+
+	static long countAtAnchorsOneByOne(final byte[] cells, final int from, final int to, final byte anchor, final AnchorCounter anchorCounter) {
+		long count = 0;
+		for (int cell = from; cell < to; cell++) {
+			if (cells[cell] == anchor) {
+				count += anchorCounter.count(cell);
+			}
+		}
+		return count;
+	}
+
+	@FunctionalInterface
+	interface AnchorCounter {
+		int count(int cell);
+	}
+}
@@ -1,281 +1,49 @@
 package org.adventofcode.day04;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 //--- Day 4: Ceres Search ---
 @UtilityClass
 public class Main {
 
+	private static final String XMAS_WORD = "XMAS";
+	private static final String MAS_WORD = "MAS";
+	private static final String XMAS_WORD_BACKWARDS = "SAMX";
+
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
 
-		// convert it into a char 2 dimension array
-		final char[][] charTable = new char[inputByLines.size()][];
-		for (int i = 0; i < inputByLines.size(); i++) {
-			charTable[i] = inputByLines.get(i).toCharArray();
-		}
+		System.out.println("xmasWordCounter = " + solvePart1(input));
+		System.out.println("xShaped2MasWordsCounter = " + solvePart2(input));
+	}
 
+	public static long solvePart1(final PuzzleInput input) {
 		/*
-		Iterate over every character of the 2 dimension array.
+		Iterate over every character of the grid.
 		If the character is an 'X', then check the 8 possible direction for the word 'XMAS'.
 		 */
-		long xmasWordCounter = 0;
-		for (int i = 0; i < charTable.length; i++) {
-			for (int j = 0; j < charTable[i].length; j++) {
-				final char currentChar = charTable[i][j];
-				if (currentChar == 'X') {
-					if (checkXmasWordToStraightRight(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToStraightLeft(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToStraightDown(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToStraightUp(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToDiagonalRightDown(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToDiagonalLeftUp(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToDiagonalLeftDown(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-					if (checkXmasWordToDiagonalRightUp(charTable, i, j, charTable.length - 1, charTable[i].length - 1)) {
-						xmasWordCounter++;
-					}
-				}
-			}
-		}
-		System.out.println("xmasWordCounter = " + xmasWordCounter);
-
-		// part 2: similar to part 1, but now we stop at character 'A' and check for 2 'MAS' words in a shape of an "X".
-		long xShaped2MasWordsCounter = 0;
-		for (int i = 0; i < charTable.length; i++) {
-			for (int j = 0; j < charTable[i].length; j++) {
-				final char currentChar = charTable[i][j];
-				if (currentChar == 'A'
-					&& checkMasWordTopLeftBottomRight(charTable, i, j, charTable.length - 1, charTable[i].length - 1)
-					&& checkMasWordTopRightBottomLeft(charTable, i, j, charTable.length - 1, charTable[i].length - 1)
-				) {
-					xShaped2MasWordsCounter++;
-				}
-			}
-		}
-		System.out.println("xShaped2MasWordsCounter = " + xShaped2MasWordsCounter);
-	}
-
-	/**
-	 * -->
-	 */
-	private static boolean checkXmasWordToStraightRight(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentXposOfXchar + 3 <= maxXpos) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar + 1][currentYposOfXchar] == 'M'
-				&& charTable[currentXposOfXchar + 2][currentYposOfXchar] == 'A'
-				&& charTable[currentXposOfXchar + 3][currentYposOfXchar] == 'S';
-		}
-		return false;
-	}
-
-	/**
-	 * <--
-	 */
-	private static boolean checkXmasWordToStraightLeft(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentXposOfXchar >= 3) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar - 1][currentYposOfXchar] == 'M'
-				&& charTable[currentXposOfXchar - 2][currentYposOfXchar] == 'A'
-				&& charTable[currentXposOfXchar - 3][currentYposOfXchar] == 'S';
-		}
-		return false;
-	}
-
-	/**
-	 * |
-	 * v
-	 */
-	private static boolean checkXmasWordToStraightDown(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentYposOfXchar + 3 <= maxYpos) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar][currentYposOfXchar + 1] == 'M'
-				&& charTable[currentXposOfXchar][currentYposOfXchar + 2] == 'A'
-				&& charTable[currentXposOfXchar][currentYposOfXchar + 3] == 'S';
-		}
-		return false;
-	}
-
-	/**
-	 * ^
-	 * |
-	 */
-	private static boolean checkXmasWordToStraightUp(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentYposOfXchar >= 3) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar][currentYposOfXchar - 1] == 'M'
-				&& charTable[currentXposOfXchar][currentYposOfXchar - 2] == 'A'
-				&& charTable[currentXposOfXchar][currentYposOfXchar - 3] == 'S';
-		}
-		return false;
+		final WordSearch wordSearch = new WordSearch(input, XMAS_WORD.length() - 1);
+		return wordSearch.countWord(XMAS_WORD, WordSearch.ALL_DIRECTIONS);
 	}
 
 	/**
-	 * \
-	 *  _|
+	 * Same as part 1, but every row, column and diagonal is read only once, with an Aho–Corasick automaton of "XMAS"
+	 * and "SAMX" (the backwards direction of a line), instead of checking the 8 directions at every 'X'.
 	 */
-	private static boolean checkXmasWordToDiagonalRightDown(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentXposOfXchar + 3 <= maxXpos && currentYposOfXchar + 3 <= maxYpos) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar + 1][currentYposOfXchar + 1] == 'M'
-				&& charTable[currentXposOfXchar + 2][currentYposOfXchar + 2] == 'A'
-				&& charTable[currentXposOfXchar + 3][currentYposOfXchar + 3] == 'S';
-		}
-		return false;
+	public static long solvePart1WithAhoCorasick(final PuzzleInput input) {
+		final WordSearch wordSearch = new WordSearch(input, 0);
+		final long[] wordCounts = wordSearch.countWordsInEveryLine(new AhoCorasick(List.of(XMAS_WORD, XMAS_WORD_BACKWARDS)));
+		return wordCounts[0] + wordCounts[1];
 	}
 
-	/**
-	 *  _
-	 * |
-	 *   \
-	 */
-	private static boolean checkXmasWordToDiagonalLeftUp(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentXposOfXchar >= 3 && currentYposOfXchar >= 3) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar - 1][currentYposOfXchar - 1] == 'M'
-				&& charTable[currentXposOfXchar - 2][currentYposOfXchar - 2] == 'A'
-				&& charTable[currentXposOfXchar - 3][currentYposOfXchar - 3] == 'S';
-		}
-		return false;
-	}
-
-	/**
-	 *   /
-	 * |_
-	 */
-	private static boolean checkXmasWordToDiagonalLeftDown(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentXposOfXchar >= 3 && currentYposOfXchar + 3 <= maxYpos) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar - 1][currentYposOfXchar + 1] == 'M'
-				&& charTable[currentXposOfXchar - 2][currentYposOfXchar + 2] == 'A'
-				&& charTable[currentXposOfXchar - 3][currentYposOfXchar + 3] == 'S';
-		}
-		return false;
-	}
-
-	/**
-	 *  _
-	 *   |
-	 * /
-	 */
-	private static boolean checkXmasWordToDiagonalRightUp(
-		final char[][] charTable,
-		final int currentXposOfXchar,
-		final int currentYposOfXchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if (currentXposOfXchar + 3 <= maxXpos && currentYposOfXchar >= 3) { // prevent ArrayIndexOutOfBoundsException
-			return charTable[currentXposOfXchar + 1][currentYposOfXchar - 1] == 'M'
-				&& charTable[currentXposOfXchar + 2][currentYposOfXchar - 2] == 'A'
-				&& charTable[currentXposOfXchar + 3][currentYposOfXchar - 3] == 'S';
-		}
-		return false;
-	}
-
-	/**
-	 *  _
-	 * |
-	 *   \
-	 *    _|
-	 */
-	private static boolean checkMasWordTopLeftBottomRight(
-		final char[][] charTable,
-		final int currentXposOfAchar,
-		final int currentYposOfAchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if ((currentXposOfAchar >= 1 && currentYposOfAchar >= 1)
-			&& (currentXposOfAchar + 1 <= maxXpos && currentYposOfAchar + 1 <= maxYpos)
-		) { // prevent ArrayIndexOutOfBoundsException
-			final char topLeftCharFromAChar = charTable[currentXposOfAchar - 1][currentYposOfAchar - 1];
-			final char bottomRightCharFromAChar = charTable[currentXposOfAchar + 1][currentYposOfAchar + 1];
-			return (topLeftCharFromAChar == 'M' && bottomRightCharFromAChar == 'S')
-				|| (topLeftCharFromAChar == 'S' && bottomRightCharFromAChar == 'M');
-		}
-		return false;
-	}
-
-	/**
-	 *    _
-	 *     |
-	 *   /
-	 * |_
-	 */
-	private static boolean checkMasWordTopRightBottomLeft(
-		final char[][] charTable,
-		final int currentXposOfAchar,
-		final int currentYposOfAchar,
-		final int maxXpos,
-		final int maxYpos
-	) {
-		if ((currentXposOfAchar + 1 <= maxXpos && currentYposOfAchar >= 1)
-			&& (currentXposOfAchar >= 1 && currentYposOfAchar + 1 <= maxYpos)
-		) { // prevent ArrayIndexOutOfBoundsException
-			final char topRightCharFromAChar = charTable[currentXposOfAchar + 1][currentYposOfAchar - 1];
-			final char bottomLeftCharFromAChar = charTable[currentXposOfAchar - 1][currentYposOfAchar + 1];
-			return (topRightCharFromAChar == 'M' && bottomLeftCharFromAChar == 'S')
-				|| (topRightCharFromAChar == 'S' && bottomLeftCharFromAChar == 'M');
-		}
-		return false;
+	public static long solvePart2(final PuzzleInput input) {
+		// part 2: similar to part 1, but now we stop at character 'A' and check for 2 'MAS' words in a shape of an "X".
+		final WordSearch wordSearch = new WordSearch(input, MAS_WORD.length() - 1);
+		return wordSearch.countCrossedWords(MAS_WORD, WordSearch.RIGHT_DOWN, WordSearch.LEFT_DOWN);
 	}
 }
@@ -0,0 +1,31 @@
+package org.adventofcode.day04;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Compares as many letters at once as the CPU's widest vector register can hold (for example 32 with AVX2): the
+ * result is a bit mask of the anchors, and only the set bits are visited. Most of the letters are not anchors, so
+ * most of the row is skipped 32 letters at a time.
+ */
+final class VectorAnchorFinder implements AnchorFinder {
+
+	private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+	@Override
+	public long countAtAnchors(final byte[] cells, final int from, final int to, final byte anchor, final AnchorCounter anchorCounter) {
+		long count = 0;
+		int cell = from;
+		for (final int vectorsEnd = from + SPECIES.loopBound(to - from); cell < vectorsEnd; cell += SPECIES.length()) {
+			long anchorBits = ByteVector.fromArray(SPECIES, cells, cell)
+				.eq(anchor)
+				.toLong();
+			while (anchorBits != 0) {
+				count += anchorCounter.count(cell + Long.numberOfTrailingZeros(anchorBits));
+				anchorBits &= anchorBits - 1; // clear the lowest set bit
+			}
+		}
+		// the rest of the row, which is shorter than a vector
+		return count + AnchorFinder.countAtAnchorsOneByOne(cells, cell, to, anchor, anchorCounter);
+	}
+}
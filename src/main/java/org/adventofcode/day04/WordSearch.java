@@ -0,0 +1,211 @@
+package org.adventofcode.day04;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Searches words in a letter grid, in any direction. The grid is stored in 1 byte array, with an empty (0) border
+ * around it which is as wide as a word can reach out of the grid: so a word can be checked in any direction without
+ * checking the bounds at every letter, the border never matches a letter.
+ * A step in a direction is just an offset in the array (rowStep * rowLength + columnStep).
+ * <p>
+ * A word is only checked at its anchor letters (for example at the 'X'-s of "XMAS"). The anchors of a row are found
+ * with SIMD (many letters compared at once) if the Vector API is there, see {@link AnchorFinder}. The rows are counted
+ * in parallel if the grid is big enough.
+ */
+public final class WordSearch {
+
+	public static final Direction RIGHT = new Direction(0, 1);
+	public static final Direction LEFT = new Direction(0, -1);
+	public static final Direction DOWN = new Direction(1, 0);
+	public static final Direction UP = new Direction(-1, 0);
+	public static final Direction RIGHT_DOWN = new Direction(1, 1);
+	public static final Direction LEFT_UP = new Direction(-1, -1);
+	public static final Direction LEFT_DOWN = new Direction(1, -1);
+	public static final Direction RIGHT_UP = new Direction(-1, 1);
+	public static final List<Direction> ALL_DIRECTIONS = List.of(RIGHT, LEFT, DOWN, UP, RIGHT_DOWN, LEFT_UP, LEFT_DOWN, RIGHT_UP);
+
+	// smaller grids are not worth to split up, the threads would cost more than the search itself
+	private static final int MIN_CELLS_TO_SEARCH_IN_PARALLEL = 1 << 16;
+	private static final byte BORDER = 0;
+
+	private final byte[] cells;
+	private final int rowCount;
+	private final int columnCount;
+	private final int border;
+	private final int rowLength; // columnCount + the border on both sides
+
+	/**
+	 * @param maxWordReach how many cells far a word can reach from any of its letters: (word length - 1) * the biggest
+	 * step of the directions, for example 3 for "XMAS" with the 8 neighbor directions
+	 */
+	public WordSearch(final PuzzleInput input, final int maxWordReach) {
+		rowCount = input.lineCount();
+		columnCount = input.maxLineLength();
+		border = maxWordReach;
+		rowLength = columnCount + 2 * border;
+		cells = new byte[(rowCount + 2 * border) * rowLength]; // the border is BORDER by default
+		for (int row = 0; row < rowCount; row++) {
+			final int lineStart = input.lineStart(row);
+			for (int column = 0; column < input.lineLength(row); column++) {
+				cells[cellIndex(row, column)] = input.byteAt(lineStart + column);
+			}
+		}
+	}
+
+	/**
+	 * Counts the word in every given direction: a cell where the word can be read in 3 directions is counted 3 times.
+	 */
+	public long countWord(final String word, final List<Direction> directions) {
+		final byte[] letters = toLetters(word);
+		final int[] offsets = directions.stream()
+			.mapToInt(direction -> offsetOf(direction, letters.length))
+			.toArray();
+		return countAtAnchors(letters[0], cell -> {
+			int wordCounter = 0;
+			for (final int offset : offsets) {
+				if (isWordAt(cell, letters, offset)) {
+					wordCounter++;
+				}
+			}
+			return wordCounter;
+		});
+	}
+
+	/**
+	 * Counts the cells where the word crosses itself in an "X" (or "+") shape: the middle letter of the word is on the
+	 * cell, and the word can be read through it both in the first and in the second direction (forwards or backwards).
+	 */
+	public long countCrossedWords(final String word, final Direction firstDirection, final Direction secondDirection) {
+		if (word.length() % 2 == 0) {
+			throw new IllegalArgumentException("Only a word with odd length has a middle letter to cross at: " + word);
+		}
+		final byte[] letters = toLetters(word);
+		final int middle = word.length() / 2;
+		final int firstOffset = offsetOf(firstDirection, letters.length);
+		final int secondOffset = offsetOf(secondDirection, letters.length);
+		return countAtAnchors(letters[middle], cell -> {
+			final boolean isInFirstDirection = isWordAt(cell - middle * firstOffset, letters, firstOffset)
+				|| isWordAt(cell + middle * firstOffset, letters, -firstOffset);
+			final boolean isInSecondDirection = isWordAt(cell - middle * secondOffset, letters, secondOffset)
+				|| isWordAt(cell + middle * secondOffset, letters, -secondOffset);
+			return isInFirstDirection && isInSecondDirection ? 1 : 0;
+		});
+	}
+
+	/**
+	 * Counts every word of the automaton in every row (left to right), column (top to bottom) and diagonal (top left to
+	 * bottom right and top right to bottom left), in 1 pass over each. A line is only read forwards, so to also count
+	 * the words backwards, the reversed words have to be in the automaton too (like "XMAS" and "SAMX").
+	 * The lines are read in parallel if the grid is big enough.
+	 *
+	 * @return the count of the words, by the index of the word in the automaton's word list
+	 */
+	public long[] countWordsInEveryLine(final AhoCorasick ahoCorasick) {
+		final int wordCount = ahoCorasick.getWords().size();
+		final int diagonalCount = rowCount + columnCount - 1;
+		final int lineCount = rowCount + columnCount + 2 * diagonalCount;
+		final IntStream lines = IntStream.range(0, lineCount);
+		return (rowCount * columnCount >= MIN_CELLS_TO_SEARCH_IN_PARALLEL ? lines.parallel() : lines)
+			.collect(
+				() -> new long[wordCount],
+				(wordCounts, line) -> {
+					// the lines are: the rows, then the columns, then the 2 kinds of diagonals
+					if (line < rowCount) {
+						countWordsInLine(ahoCorasick, line, 0, RIGHT, wordCounts);
+					} else if (line < rowCount + columnCount) {
+						countWordsInLine(ahoCorasick, 0, line - rowCount, DOWN, wordCounts);
+					} else if (line < rowCount + columnCount + diagonalCount) {
+						// starting from the left column (bottom to top), then from the top row
+						final int diagonal = line - rowCount - columnCount;
+						countWordsInLine(ahoCorasick, Math.max(rowCount - 1 - diagonal, 0), Math.max(diagonal - (rowCount - 1), 0), RIGHT_DOWN, wordCounts);
+					} else {
+						// starting from the top row (left to right), then from the right column
+						final int diagonal = line - rowCount - columnCount - diagonalCount;
+						countWordsInLine(ahoCorasick, Math.max(diagonal - (columnCount - 1), 0), Math.min(diagonal, columnCount - 1), LEFT_DOWN, wordCounts);
+					}
+				},
+				(wordCounts, otherWordCounts) -> {
+					for (int i = 0; i < wordCount; i++) {
+						wordCounts[i] += otherWordCounts[i];
+					}
+				}
+			);
+	}
+
+	private void countWordsInLine(
+		final AhoCorasick ahoCorasick,
+		final int startRow,
+		final int startColumn,
+		final Direction direction,
+		final long[] wordCounts
+	) {
+		int state = AhoCorasick.START_STATE;
+		int row = startRow;
+		int column = startColumn;
+		while (row >= 0 && row < rowCount && column >= 0 && column < columnCount) {
+			state = ahoCorasick.next(state, cells[cellIndex(row, column)]);
+			ahoCorasick.countWordsEndingAt(state, wordCounts);
+			row += direction.rowStep();
+			column += direction.columnStep();
+		}
+	}
+
+	private long countAtAnchors(final byte anchor, final AnchorFinder.AnchorCounter anchorCounter) {
+		final IntStream rows = IntStream.range(0, rowCount);
+		return (rowCount * columnCount >= MIN_CELLS_TO_SEARCH_IN_PARALLEL ? rows.parallel() : rows)
+			.mapToLong(row -> AnchorFinder.INSTANCE.countAtAnchors(
+				cells,
+				cellIndex(row, 0),
+				cellIndex(row, columnCount),
+				anchor,
+				anchorCounter
+			))
+			.sum();
+	}
+
+	/**
+	 * The border is wide enough, so there is no bounds check.
+	 */
+	private boolean isWordAt(final int startCell, final byte[] letters, final int offset) {
+		for (int i = 0; i < letters.length; i++) {
+			if (cells[startCell + i * offset] != letters[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int cellIndex(final int row, final int column) {
+		return (row + border) * rowLength + column + border;
+	}
+
+	private int offsetOf(final Direction direction, final int wordLength) {
+		final int wordReach = (wordLength - 1) * Math.max(Math.abs(direction.rowStep()), Math.abs(direction.columnStep()));
+		if (wordReach > border) {
+			throw new IllegalArgumentException("A word of " + wordLength + " letters in " + direction + " reaches " + wordReach + " cells, but the border is only " + border);
+		}
+		return direction.rowStep() * rowLength + direction.columnStep();
+	}
+
+	private byte[] toLetters(final String word) {
+		if (word.isEmpty()) {
+			throw new IllegalArgumentException("The word can't be empty");
+		}
+		final byte[] letters = word.getBytes(StandardCharsets.US_ASCII);
+		for (final byte letter : letters) {
+			if (letter == BORDER) {
+				throw new IllegalArgumentException("The word can't have the border character in it: " + word);
+			}
+		}
+		return letters;
+	}
+
+	/**
+	 * A step to the next letter of a word: how many rows (down is positive) and columns (right is positive).
+	 */
+	public record Direction(int rowStep, int columnStep) {}
+}
@@ -1,120 +1,113 @@
 package org.adventofcode.day05;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.collections4.SetUtils;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.NumberScanner;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.stream.Stream;
 
 //--- Day 5: Print Queue ---
 @UtilityClass
 public class Main {
 
+	// smaller print queues are not worth to split up, the threads would cost more than the validation itself
+	private static final int MIN_UPDATES_TO_VALIDATE_IN_PARALLEL = 1 << 10;
+
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
 
-		// saving the first section, "page ordering rules" into a Map
-		// saving the second section, "page numbers of each update" to a List
-		final Map<Integer, Set<Integer>> pageOrderingRules = new HashMap<>();
-		final List<List<Integer>> updates = new ArrayList<>();
-		for (final String inputByLine : inputByLines) {
-			if (inputByLine.contains("|")) {
-				final String[] split = inputByLine.split("\\|");
-				final int leftNumber = Integer.parseInt(split[0]);
-				final int rightNumber = Integer.parseInt(split[1]);
-				if (pageOrderingRules.containsKey(leftNumber)) {
-					pageOrderingRules.get(leftNumber)
-						.add(rightNumber);
-				} else {
-					final Set<Integer> rulesForLeftNumber = new HashSet<>();
-					rulesForLeftNumber.add(rightNumber);
-					pageOrderingRules.put(leftNumber, rulesForLeftNumber);
-				}
-			}
-			if (inputByLine.contains(",")) {
-				updates.add(
-					Arrays.stream(inputByLine.split(","))
-						.map(Integer::parseInt)
-						.toList()
-				);
-			}
-		}
+		System.out.println("validUpdatesMiddleNumbersSum = " + solvePart1(input));
+		System.out.println("correctedUpdatesMiddleNumbersSum = " + solvePart2(input));
+	}
+
+	public static long solvePart1(final PuzzleInput input) {
+		final PrintQueue printQueue = convertToPrintQueue(input);
 
 		/*
 		Go over the updates and consider them if they are valid (the order of the numbers inside them are valid
 		considering the page ordering rules).
 		If an update is valid, get the number in the middle and sum all those up.
 		 */
-		long validUpdatesMiddleNumbersSum = 0;
-		final List<List<Integer>> incorrectlyOrderedUpdates = new ArrayList<>();
-		for (final List<Integer> update : updates) {
-			boolean isUpdateValid = true;
-			for (int i = 1; i < update.size(); i++) { // no need to validate the first number
-				final Integer currentNumberToValidate = update.get(i);
-				final Set<Integer> rulesForCurrentNumber = SetUtils.emptyIfNull(pageOrderingRules.get(currentNumberToValidate));
-				// go back in the list of numbers and check if there is any number before this which cant be based on the rules
-				boolean isNumberValid = true;
-				for (int j = i - 1; j >= 0 ; j--) {
-					final Integer previousNumber = update.get(j);
-					if (rulesForCurrentNumber.contains(previousNumber)) {
-						isNumberValid = false;
-						break;
-					}
-				}
-				if (!isNumberValid) {
-					isUpdateValid = false;
-					break;
-				}
-			}
-			if (isUpdateValid) {
-				validUpdatesMiddleNumbersSum += getMiddleNumber(update);
-			} else {
-				incorrectlyOrderedUpdates.add(new ArrayList<>(update));
-			}
+		return updatesOf(printQueue)
+			.filter(update -> printQueue.pageOrderingRules().isUpdateValid(update))
+			.mapToLong(Main::getMiddleNumber)
+			.sum();
+	}
+
+	public static long solvePart2(final PuzzleInput input) {
+		final PrintQueue printQueue = convertToPrintQueue(input);
+		final PageOrderingRules pageOrderingRules = printQueue.pageOrderingRules();
+
+		/*
+		part 2: correctly order the incorrect updates with the page ordering rules
+		Only the middle number of a corrected update is needed, so the reorderer only selects it (see UpdateReorderer).
+		 */
+		final UpdateReorderer updateReorderer = new UpdateReorderer(pageOrderingRules);
+		return updatesOf(printQueue)
+			.filter(update -> !pageOrderingRules.isUpdateValid(update))
+			.mapToLong(updateReorderer::getMiddlePageOfReorderedUpdate)
+			.sum();
+	}
+
+	/**
+	 * Part 1 and part 2 without reading the whole input first: the rules and the updates are read from a stream in 1
+	 * pass, and every update is validated (and corrected) as soon as it is read, see {@link UpdateStreamValidator}.
+	 */
+	public static UpdateStreamValidator validateAsStream(final PuzzleInput input) {
+		final UpdateStreamValidator updateStreamValidator = new UpdateStreamValidator(new PageOrderingRules());
+		try {
+			updateStreamValidator.read(input.openStream());
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
 		}
-		System.out.println("validUpdatesMiddleNumbersSum = " + validUpdatesMiddleNumbersSum);
+		return updateStreamValidator;
+	}
 
-		// part 2: correctly order the incorrect rules with the page ordering rules
-		long correctedUpdatesMiddleNumbersSum = 0;
-		for (final List<Integer> incorrectlyOrderedUpdate : incorrectlyOrderedUpdates) {
-			for (int i = 1; i < incorrectlyOrderedUpdate.size(); i++) { // cant move the first number more back
-				final Integer currentNumberToCheckAndPossiblyMoveBack = incorrectlyOrderedUpdate.get(i);
-				int currentPositionOfCurrentNumberToCheckAndPossiblyMoveBack = i;
-				final Set<Integer> rulesForCurrentNumber = SetUtils.emptyIfNull(pageOrderingRules.get(currentNumberToCheckAndPossiblyMoveBack));
-				// go back in the list of numbers and swap positions if needed based on the page ordering rules
-				for (int j = i - 1; j >= 0 ; j--) {
-					final Integer previousNumber = incorrectlyOrderedUpdate.get(j);
-					if (rulesForCurrentNumber.contains(previousNumber)) { // swap positions in the list
-						incorrectlyOrderedUpdate.set(currentPositionOfCurrentNumberToCheckAndPossiblyMoveBack, previousNumber);
-						incorrectlyOrderedUpdate.set(j, currentNumberToCheckAndPossiblyMoveBack);
-						currentPositionOfCurrentNumberToCheckAndPossiblyMoveBack = j;
-					}
-				}
+	private static PrintQueue convertToPrintQueue(final PuzzleInput input) {
+		// saving the first section, "page ordering rules" into a bit matrix
+		// saving the second section, "page numbers of each update" to a List
+		final PageOrderingRules pageOrderingRules = new PageOrderingRules();
+		final List<int[]> updates = new ArrayList<>();
+		final NumberScanner numberScanner = new NumberScanner(input);
+		final int[] numbersInTheLine = new int[(input.maxLineLength() + 1) / 2]; // reused for every line
+		for (int line = 0; line < input.lineCount(); line++) {
+			final int lineStart = input.lineStart(line);
+			final int lineEnd = input.lineEnd(line);
+			if (input.indexOf((byte) '|', lineStart, lineEnd) != -1) {
+				numberScanner.reset(lineStart, lineEnd);
+				final int leftNumber = numberScanner.nextInt();
+				final int rightNumber = numberScanner.nextInt();
+				pageOrderingRules.addRule(leftNumber, rightNumber);
+			}
+			if (input.indexOf((byte) ',', lineStart, lineEnd) != -1) {
+				final int numbersInTheLineCount = numberScanner.reset(lineStart, lineEnd).nextInts(numbersInTheLine);
+				updates.add(Arrays.copyOf(numbersInTheLine, numbersInTheLineCount));
 			}
-			// after the above iteration, 'incorrectlyOrderedUpdate' is now correctly ordered
-			correctedUpdatesMiddleNumbersSum += getMiddleNumber(incorrectlyOrderedUpdate);
 		}
-		System.out.println("correctedUpdatesMiddleNumbersSum = " + correctedUpdatesMiddleNumbersSum);
+		return new PrintQueue(pageOrderingRules, updates);
 	}
 
-	private static int getMiddleNumber(final List<Integer> update) {
-		if (update.size() % 2 == 0) {
-			throw new UnsupportedOperationException("The size of the update is even. Can't pick the middle number if there are 2 middle numbers. The update: " + update);
+	/**
+	 * The rules are not changed after they are read, so the updates can be validated in parallel.
+	 */
+	private static Stream<int[]> updatesOf(final PrintQueue printQueue) {
+		final Stream<int[]> updates = printQueue.updates().stream();
+		return printQueue.updates().size() >= MIN_UPDATES_TO_VALIDATE_IN_PARALLEL ? updates.parallel() : updates;
+	}
+
+	static int getMiddleNumber(final int[] update) {
+		if (update.length % 2 == 0) {
+			throw new UnsupportedOperationException("The size of the update is even. Can't pick the middle number if there are 2 middle numbers. The update: " + Arrays.toString(update));
 		} else {
-		    return update.get((update.size() / 2));
+		    return update[update.length / 2];
 		}
 	}
+
+	private record PrintQueue(PageOrderingRules pageOrderingRules, List<int[]> updates) {}
 }
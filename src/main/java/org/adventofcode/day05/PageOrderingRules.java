@@ -0,0 +1,263 @@
+package org.adventofcode.day05;
+
+import java.util.Arrays;
+
+/**
+ * The page ordering rules as a bit matrix: the page numbers get dense indexes (0, 1, 2... in the order they first
+ * appear in a rule), and every page has a row of bits (a {@code long[]} bitset) of the pages which must come after it.
+ * A rule "X|Y" is the bit of Y in the row of X. The indexes are in an open addressing hash table (page number ->
+ * index, with linear probing), so the memory depends on the number of different pages, not on the biggest page number.
+ * <p>
+ * So checking an update is 1 sweep over its pages: the bits of the already seen pages are collected in a bitset (1 for
+ * each thread, reused for every update), and if a page's "must come after" row has a common bit with the seen pages
+ * (1 AND per 64 pages), a page which should be after it is before it.
+ * <p>
+ * The matrix grows while the rules are added, and the rules can also be removed, at any time (a page keeps its index
+ * even if it has no rule anymore, so the matrix only grows with the number of different pages). It is not
+ * synchronized: while the rules are changed, no other thread can read them. When the rules are not changed anymore,
+ * the matrix is only read, so the updates can be checked in parallel.
+ */
+public final class PageOrderingRules {
+
+	static final int NO_INDEX = -1;
+	private static final int BITS_PER_WORD = Long.SIZE;
+	private static final int NO_PAGE = -1; // an empty slot of the hash table, the page numbers are not negative
+	private static final int INITIAL_SLOT_COUNT = 1 << 7;
+
+	// the hash table: 'pageIndexesBySlot[slot]' is the index of the page 'pagesBySlot[slot]'
+	private int[] pagesBySlot = newEmptySlots(INITIAL_SLOT_COUNT);
+	private int[] pageIndexesBySlot = new int[INITIAL_SLOT_COUNT];
+	private int pageCount;
+	private int wordsPerPage = 1;
+	private long[] pagesAfterBits = new long[BITS_PER_WORD * wordsPerPage]; // room for 64 pages' rows
+	private int ruleCount;
+	// the bitset of 'isUpdateValid', reused for every update of a thread
+	private final ThreadLocal<SeenPages> seenPagesByThread = ThreadLocal.withInitial(SeenPages::new);
+
+	/**
+	 * Adds the rule "beforePage|afterPage": 'beforePage' must be printed before 'afterPage'.
+	 */
+	public void addRule(final int beforePage, final int afterPage) {
+		final int beforePageIndex = indexOrAdd(beforePage);
+		final int afterPageIndex = indexOrAdd(afterPage);
+		final int word = beforePageIndex * wordsPerPage + (afterPageIndex >>> 6);
+		if ((pagesAfterBits[word] & (1L << afterPageIndex)) == 0) {
+			pagesAfterBits[word] |= 1L << afterPageIndex;
+			ruleCount++;
+		}
+	}
+
+	/**
+	 * Removes the rule "beforePage|afterPage".
+	 *
+	 * @return false if there was no such rule
+	 */
+	public boolean removeRule(final int beforePage, final int afterPage) {
+		if (!hasRule(beforePage, afterPage)) {
+			return false;
+		}
+		final int afterPageIndex = indexOf(afterPage);
+		pagesAfterBits[indexOf(beforePage) * wordsPerPage + (afterPageIndex >>> 6)] &= ~(1L << afterPageIndex);
+		ruleCount--;
+		return true;
+	}
+
+	public int getRuleCount() {
+		return ruleCount;
+	}
+
+	/**
+	 * @return if there is a rule "beforePage|afterPage"
+	 */
+	public boolean hasRule(final int beforePage, final int afterPage) {
+		final int beforePageIndex = indexOf(beforePage);
+		final int afterPageIndex = indexOf(afterPage);
+		if (beforePageIndex == NO_INDEX || afterPageIndex == NO_INDEX) {
+			return false;
+		}
+		return (pagesAfterBits[beforePageIndex * wordsPerPage + (afterPageIndex >>> 6)] & (1L << afterPageIndex)) != 0;
+	}
+
+	/**
+	 * The order of 2 pages by the rules, like a {@link java.util.Comparator}: negative if 'firstPage' must be before
+	 * 'secondPage', positive if it must be after it, 0 if there is no rule between them.
+	 * It is only a real (transitive) comparator if the rules are a total order on the compared pages.
+	 */
+	public int compare(final int firstPage, final int secondPage) {
+		if (hasRule(firstPage, secondPage)) {
+			return -1;
+		}
+		return hasRule(secondPage, firstPage) ? 1 : 0;
+	}
+
+	/**
+	 * @return if no page of the update is before a page which must be before it
+	 */
+	public boolean isUpdateValid(final int[] update) {
+		final SeenPages seenPages = seenPagesByThread.get();
+		final long[] seenPageBits = seenPages.bits(wordsPerPage);
+		try {
+			for (final int page : update) {
+				final int pageIndex = indexOf(page);
+				if (pageIndex == NO_INDEX) {
+					continue; // no rule for this page, it can be anywhere
+				}
+				final int rowStart = pageIndex * wordsPerPage;
+				for (int word = 0; word < wordsPerPage; word++) {
+					if ((pagesAfterBits[rowStart + word] & seenPageBits[word]) != 0) {
+						return false; // a page which must be after this page is already printed
+					}
+				}
+				seenPages.add(pageIndex);
+			}
+			return true;
+		} finally {
+			seenPages.clear();
+		}
+	}
+
+	/**
+	 * @return the dense index of the page, or {@link #NO_INDEX} if there is no rule with it
+	 */
+	int indexOf(final int page) {
+		if (page < 0) {
+			return NO_INDEX;
+		}
+		final int slot = slotOf(pagesBySlot, page);
+		return pagesBySlot[slot] == page ? pageIndexesBySlot[slot] : NO_INDEX;
+	}
+
+	int pageCount() {
+		return pageCount;
+	}
+
+	/**
+	 * @return how many words a bitset of the page indexes needs
+	 */
+	int wordsPerPage() {
+		return wordsPerPage;
+	}
+
+	/**
+	 * Like {@link java.util.BitSet#nextSetBit(int)}, on the pages which must come after the page and are in 'pageBits'.
+	 *
+	 * @return the first such page index from 'fromPageIndex' (inclusive), or {@link #NO_INDEX} if there is no more
+	 */
+	int nextPageIndexAfter(final int pageIndex, final long[] pageBits, final int fromPageIndex) {
+		final int rowStart = pageIndex * wordsPerPage;
+		int word = fromPageIndex >>> 6;
+		if (word >= wordsPerPage) {
+			return NO_INDEX;
+		}
+		long bits = pagesAfterBits[rowStart + word] & pageBits[word] & (-1L << fromPageIndex);
+		while (bits == 0) {
+			if (++word == wordsPerPage) {
+				return NO_INDEX;
+			}
+			bits = pagesAfterBits[rowStart + word] & pageBits[word];
+		}
+		return word * BITS_PER_WORD + Long.numberOfTrailingZeros(bits);
+	}
+
+	private int indexOrAdd(final int page) {
+		if (page < 0) {
+			throw new IllegalArgumentException("The page number can't be negative: " + page);
+		}
+		final int slot = slotOf(pagesBySlot, page);
+		if (pagesBySlot[slot] == page) {
+			return pageIndexesBySlot[slot];
+		}
+		if (pageCount == wordsPerPage * BITS_PER_WORD) {
+			growMatrix();
+		}
+		pagesBySlot[slot] = page;
+		pageIndexesBySlot[slot] = pageCount;
+		if (++pageCount * 2 > pagesBySlot.length) {
+			growTable(); // at most half of the slots are used, so the probes stay short
+		}
+		return pageCount - 1;
+	}
+
+	/**
+	 * @return the slot of the page, or the empty slot where it would be added
+	 */
+	private static int slotOf(final int[] pagesBySlot, final int page) {
+		final int mask = pagesBySlot.length - 1;
+		// Fibonacci hashing: the top bits of the product, so close page numbers are spread out
+		int slot = (page * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+		while (pagesBySlot[slot] != page && pagesBySlot[slot] != NO_PAGE) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void growTable() {
+		final int[] newPagesBySlot = newEmptySlots(pagesBySlot.length * 2);
+		final int[] newPageIndexesBySlot = new int[newPagesBySlot.length];
+		for (int slot = 0; slot < pagesBySlot.length; slot++) {
+			if (pagesBySlot[slot] != NO_PAGE) {
+				final int newSlot = slotOf(newPagesBySlot, pagesBySlot[slot]);
+				newPagesBySlot[newSlot] = pagesBySlot[slot];
+				newPageIndexesBySlot[newSlot] = pageIndexesBySlot[slot];
+			}
+		}
+		pagesBySlot = newPagesBySlot;
+		pageIndexesBySlot = newPageIndexesBySlot;
+	}
+
+	private static int[] newEmptySlots(final int slotCount) {
+		final int[] slots = new int[slotCount];
+		Arrays.fill(slots, NO_PAGE);
+		return slots;
+	}
+
+	/**
+	 * Doubles the number of pages the matrix can hold: every row gets twice as many words.
+	 */
+	private void growMatrix() {
+		final int newWordsPerPage = wordsPerPage * 2;
+		final long[] newPagesAfterBits = new long[newWordsPerPage * BITS_PER_WORD * newWordsPerPage];
+		for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+			System.arraycopy(pagesAfterBits, pageIndex * wordsPerPage, newPagesAfterBits, pageIndex * newWordsPerPage, wordsPerPage);
+		}
+		wordsPerPage = newWordsPerPage;
+		pagesAfterBits = newPagesAfterBits;
+	}
+
+	/**
+	 * The bitset of the pages already seen in 1 update. After an update only the words which were set are cleared, so
+	 * it can be reused for the next update without clearing (or allocating) the whole bitset.
+	 */
+	private static final class SeenPages {
+
+		private long[] bits = new long[0];
+		private int[] setWords = new int[0];
+		private int setWordCount;
+
+		/**
+		 * @return the bits, with room for 'wordCount' words (the matrix can grow between 2 updates)
+		 */
+		private long[] bits(final int wordCount) {
+			if (bits.length < wordCount) {
+				bits = new long[wordCount];
+				setWords = new int[wordCount];
+			}
+			return bits;
+		}
+
+		private void add(final int pageIndex) {
+			final int word = pageIndex >>> 6;
+			if (bits[word] == 0) {
+				setWords[setWordCount++] = word;
+			}
+			bits[word] |= 1L << pageIndex;
+		}
+
+		private void clear() {
+			for (int i = 0; i < setWordCount; i++) {
+				bits[setWords[i]] = 0;
+			}
+			setWordCount = 0;
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package org.adventofcode.day05;
+
+import org.adventofcode.Solver;
+import org.adventofcode.input.PuzzleInput;
+
+public class Solution implements Solver {
+
+	@Override
+	public int day() {
+		return 5;
+	}
+
+	@Override
+	public long solvePart1(final PuzzleInput input) {
+		return Main.solvePart1(input);
+	}
+
+	@Override
+	public long solvePart2(final PuzzleInput input) {
+		return Main.solvePart2(input);
+	}
+}
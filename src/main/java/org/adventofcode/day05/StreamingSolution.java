@@ -0,0 +1,30 @@
+package org.adventofcode.day05;
+
+import org.adventofcode.Solver;
+import org.adventofcode.input.PuzzleInput;
+
+/**
+ * The input is read as a stream of rules and updates, every update is validated right when it is read.
+ */
+public class StreamingSolution implements Solver {
+
+	@Override
+	public int day() {
+		return 5;
+	}
+
+	@Override
+	public String variant() {
+		return "streaming";
+	}
+
+	@Override
+	public long solvePart1(final PuzzleInput input) {
+		return Main.validateAsStream(input).getValidUpdatesMiddleNumbersSum();
+	}
+
+	@Override
+	public long solvePart2(final PuzzleInput input) {
+		return Main.validateAsStream(input).getCorrectedUpdatesMiddleNumbersSum();
+	}
+}
@@ -0,0 +1,205 @@
+package org.adventofcode.day05;
+
+import java.util.Arrays;
+
+/**
+ * Puts the pages of an update into the order of the page ordering rules, on a primitive int array.
+ * <p>
+ * If the rules are a total order on the pages of the update (every 2 pages have a rule), the rules are a comparator,
+ * so the update is just sorted: a merge sort, O(n log n) comparisons, and each comparison is 2 bit lookups in the
+ * rule matrix. If they are not (some pages have no rule between them), the sorted update can break a rule through
+ * the pages which are not compared directly, so the sorted update is checked, and if it is still not valid, it is
+ * ordered by a topological sort (Kahn's algorithm) on the rules between the pages of the update.
+ * <p>
+ * When only the middle page is needed, the update doesn't have to be sorted: a quickselect puts the middle page to its
+ * place in O(n) comparisons on average. It is the answer for sure, if every page before it must be before it and every
+ * page after it must be after it by the rules. Otherwise the update is reordered fully.
+ * <p>
+ * The rules are only read, so the same reorderer can be used by more threads at the same time.
+ */
+public final class UpdateReorderer {
+
+	private final PageOrderingRules pageOrderingRules;
+
+	public UpdateReorderer(final PageOrderingRules pageOrderingRules) {
+		this.pageOrderingRules = pageOrderingRules;
+	}
+
+	/**
+	 * @return the pages of the update in the order of the rules, in a new array (the update is not changed)
+	 */
+	public int[] reorder(final int[] update) {
+		final int[] sortedUpdate = update.clone();
+		mergeSort(sortedUpdate);
+		if (pageOrderingRules.isUpdateValid(sortedUpdate)) {
+			return sortedUpdate;
+		}
+		return topologicalSort(update);
+	}
+
+	/**
+	 * @return the middle page of the update, after it is put into the order of the rules (the update is not changed)
+	 */
+	public int getMiddlePageOfReorderedUpdate(final int[] update) {
+		if (update.length % 2 == 0) {
+			throw new UnsupportedOperationException("The size of the update is even. Can't pick the middle number if there are 2 middle numbers. The update: " + Arrays.toString(update));
+		}
+		final int middle = update.length / 2;
+		final int[] pages = update.clone();
+		select(pages, middle);
+		if (isPageForcedToItsPlace(pages, middle)) {
+			return pages[middle];
+		}
+		return reorder(update)[middle];
+	}
+
+	/**
+	 * Bottom-up merge sort by the rules. It is stable: a page only goes before an earlier page if a rule says so.
+	 */
+	private void mergeSort(final int[] pages) {
+		int[] source = pages;
+		int[] target = new int[pages.length];
+		for (int width = 1; width < pages.length; width *= 2) {
+			for (int from = 0; from < pages.length; from += 2 * width) {
+				merge(source, target, from, Math.min(from + width, pages.length), Math.min(from + 2 * width, pages.length));
+			}
+			final int[] merged = target;
+			target = source;
+			source = merged;
+		}
+		if (source != pages) {
+			System.arraycopy(source, 0, pages, 0, pages.length);
+		}
+	}
+
+	private void merge(final int[] source, final int[] target, final int from, final int middle, final int to) {
+		int left = from;
+		int right = middle;
+		int targetIndex = from;
+		while (left < middle && right < to) {
+			target[targetIndex++] = pageOrderingRules.compare(source[right], source[left]) < 0 ? source[right++] : source[left++];
+		}
+		System.arraycopy(source, left, target, targetIndex, middle - left);
+		System.arraycopy(source, right, target, targetIndex + middle - left, to - right);
+	}
+
+	/**
+	 * Kahn's algorithm on the rules between the pages of the update: a page is taken when every page which must be
+	 * before it is already taken. The edges of a page are the common bits of its rule row and the bitset of the
+	 * update's pages, so only the rules inside the update are visited.
+	 * The pages which are free at the same time are taken in the order of the update.
+	 */
+	private int[] topologicalSort(final int[] update) {
+		final long[] updatePageBits = new long[pageOrderingRules.wordsPerPage()];
+		final int[] pageIndexes = new int[update.length];
+		final int[] positionByPageIndex = new int[pageOrderingRules.pageCount()]; // only read for the pages of the update
+		for (int position = 0; position < update.length; position++) {
+			final int pageIndex = pageOrderingRules.indexOf(update[position]);
+			pageIndexes[position] = pageIndex;
+			if (pageIndex != PageOrderingRules.NO_INDEX) {
+				if ((updatePageBits[pageIndex >>> 6] & (1L << pageIndex)) != 0) {
+					throw new IllegalArgumentException("The page " + update[position] + " is more than once in the update: " + Arrays.toString(update));
+				}
+				updatePageBits[pageIndex >>> 6] |= 1L << pageIndex;
+				positionByPageIndex[pageIndex] = position;
+			}
+		}
+
+		// how many pages of the update must be before the page
+		final int[] pagesBeforeCounts = new int[update.length];
+		for (final int pageIndex : pageIndexes) {
+			if (pageIndex != PageOrderingRules.NO_INDEX) {
+				for (int pageIndexAfter = pageOrderingRules.nextPageIndexAfter(pageIndex, updatePageBits, 0);
+					pageIndexAfter != PageOrderingRules.NO_INDEX;
+					pageIndexAfter = pageOrderingRules.nextPageIndexAfter(pageIndex, updatePageBits, pageIndexAfter + 1)) {
+					pagesBeforeCounts[positionByPageIndex[pageIndexAfter]]++;
+				}
+			}
+		}
+
+		// the queue of the positions which are free to take, the taken ones stay in it, so it is also the new order
+		final int[] orderedPositions = new int[update.length];
+		int takenCount = 0;
+		int freeCount = 0;
+		for (int position = 0; position < update.length; position++) {
+			if (pagesBeforeCounts[position] == 0) {
+				orderedPositions[freeCount++] = position;
+			}
+		}
+		while (takenCount < freeCount) {
+			final int pageIndex = pageIndexes[orderedPositions[takenCount++]];
+			if (pageIndex != PageOrderingRules.NO_INDEX) {
+				for (int pageIndexAfter = pageOrderingRules.nextPageIndexAfter(pageIndex, updatePageBits, 0);
+					pageIndexAfter != PageOrderingRules.NO_INDEX;
+					pageIndexAfter = pageOrderingRules.nextPageIndexAfter(pageIndex, updatePageBits, pageIndexAfter + 1)) {
+					final int positionAfter = positionByPageIndex[pageIndexAfter];
+					if (--pagesBeforeCounts[positionAfter] == 0) {
+						orderedPositions[freeCount++] = positionAfter;
+					}
+				}
+			}
+		}
+		if (takenCount < update.length) {
+			throw new IllegalStateException("The page ordering rules have a cycle between the pages of the update: " + Arrays.toString(update));
+		}
+
+		final int[] orderedUpdate = new int[update.length];
+		for (int i = 0; i < update.length; i++) {
+			orderedUpdate[i] = update[orderedPositions[i]];
+		}
+		return orderedUpdate;
+	}
+
+	/**
+	 * Quickselect by the rules, with a 3-way partition: the pages before the pivot, the pages without a rule to the
+	 * pivot (and the pivot itself), the pages after the pivot. After it, the page at 'position' is the one which would
+	 * be there in the sorted update, if the rules are a total order.
+	 */
+	private void select(final int[] pages, final int position) {
+		int from = 0;
+		int to = pages.length - 1;
+		while (from < to) {
+			final int pivot = pages[(from + to) >>> 1];
+			int beforeEnd = from;
+			int afterStart = to;
+			int i = from;
+			while (i <= afterStart) {
+				final int order = pageOrderingRules.compare(pages[i], pivot);
+				if (order < 0) {
+					swap(pages, beforeEnd++, i++);
+				} else if (order > 0) {
+					swap(pages, i, afterStart--);
+				} else {
+					i++;
+				}
+			}
+			if (position < beforeEnd) {
+				to = beforeEnd - 1;
+			} else if (position > afterStart) {
+				from = afterStart + 1;
+			} else {
+				return; // the position is between the pages with no order to the pivot
+			}
+		}
+	}
+
+	/**
+	 * @return if every page before the position must be before its page and every page after it must be after it, so
+	 * it is on this position in every valid order
+	 */
+	private boolean isPageForcedToItsPlace(final int[] pages, final int position) {
+		for (int i = 0; i < pages.length; i++) {
+			if (i < position && !pageOrderingRules.hasRule(pages[i], pages[position])
+				|| i > position && !pageOrderingRules.hasRule(pages[position], pages[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void swap(final int[] pages, final int i, final int j) {
+		final int page = pages[i];
+		pages[i] = pages[j];
+		pages[j] = page;
+	}
+}
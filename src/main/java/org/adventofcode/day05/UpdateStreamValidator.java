@@ -0,0 +1,148 @@
+package org.adventofcode.day05;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Validates the updates one by one as they come, against the rules as they are at that time: the rules can be added
+ * and removed between 2 updates (see {@link PageOrderingRules}). A valid update's middle page is added to the valid
+ * sum, an invalid update is reordered and its middle page is added to the corrected sum.
+ * <p>
+ * Only the rules are kept (their matrix only grows with the number of different pages), an update is forgotten after
+ * it is counted, so the memory doesn't grow with the number of updates. {@link #read(InputStream)} reads the rules and
+ * the updates from a stream of lines in the format of the puzzle input, without reading the whole stream into the
+ * memory, so the "|" and the "," lines don't have to be split into 2 sections first.
+ * <p>
+ * The updates and the rules are given by 1 thread, but the counters can be read by any other thread while it runs.
+ */
+public final class UpdateStreamValidator {
+
+	private static final int READ_BUFFER_LENGTH = 1 << 16;
+
+	@Getter
+	private final PageOrderingRules pageOrderingRules;
+	private final UpdateReorderer updateReorderer;
+	private final long startNanos = System.nanoTime();
+	private int[] numbersInTheLine = new int[16]; // reused for every line, grows to the longest line
+	@Getter
+	private volatile long updateCount;
+	@Getter
+	private volatile long validUpdateCount;
+	@Getter
+	private volatile long correctedUpdateCount;
+	@Getter
+	private volatile long pageCount;
+	@Getter
+	private volatile long validUpdatesMiddleNumbersSum;
+	@Getter
+	private volatile long correctedUpdatesMiddleNumbersSum;
+
+	public UpdateStreamValidator(final PageOrderingRules pageOrderingRules) {
+		this.pageOrderingRules = pageOrderingRules;
+		this.updateReorderer = new UpdateReorderer(pageOrderingRules);
+	}
+
+	/**
+	 * Validates the update, and adds its middle page (after reordering it, if it was not valid) to the sums.
+	 * The update is not changed.
+	 *
+	 * @return if the update was valid
+	 */
+	public boolean accept(final int[] update) {
+		final boolean isValid = pageOrderingRules.isUpdateValid(update);
+		if (isValid) {
+			validUpdatesMiddleNumbersSum += Main.getMiddleNumber(update);
+			validUpdateCount++;
+		} else {
+			correctedUpdatesMiddleNumbersSum += updateReorderer.getMiddlePageOfReorderedUpdate(update);
+			correctedUpdateCount++;
+		}
+		pageCount += update.length;
+		updateCount++;
+		return isValid;
+	}
+
+	/**
+	 * Reads the stream to its end (it is not closed): a line with "|" is a rule which is added, a line with "," is an
+	 * update which is validated right away, like in the batch parser of {@link Main}. Any other line is skipped.
+	 */
+	public void read(final InputStream inputStream) throws IOException {
+		final byte[] buffer = new byte[READ_BUFFER_LENGTH];
+		int numberCount = 0;
+		int number = 0;
+		boolean isInNumber = false;
+		boolean isRuleLine = false;
+		boolean isUpdateLine = false;
+		int readLength;
+		while ((readLength = inputStream.read(buffer)) != -1) {
+			for (int i = 0; i < readLength; i++) {
+				final byte b = buffer[i];
+				if (b >= '0' && b <= '9') {
+					number = Math.addExact(Math.multiplyExact(number, 10), b - '0');
+					isInNumber = true;
+					continue;
+				}
+				if (isInNumber) {
+					addNumberInTheLine(numberCount++, number);
+					number = 0;
+					isInNumber = false;
+				}
+				if (b == '|') {
+					isRuleLine = true;
+				} else if (b == ',') {
+					isUpdateLine = true;
+				} else if (b == '\n') {
+					acceptLine(numberCount, isRuleLine, isUpdateLine);
+					numberCount = 0;
+					isRuleLine = false;
+					isUpdateLine = false;
+				}
+			}
+		}
+		// the last line has no line break
+		if (isInNumber) {
+			addNumberInTheLine(numberCount++, number);
+		}
+		acceptLine(numberCount, isRuleLine, isUpdateLine);
+	}
+
+	/**
+	 * @return the updates validated per second, since this validator was made
+	 */
+	public double getUpdatesPerSecond() {
+		return perSecond(updateCount);
+	}
+
+	/**
+	 * @return the pages of the updates validated per second, since this validator was made
+	 */
+	public double getPagesPerSecond() {
+		return perSecond(pageCount);
+	}
+
+	private void addNumberInTheLine(final int index, final int number) {
+		if (index == numbersInTheLine.length) {
+			numbersInTheLine = Arrays.copyOf(numbersInTheLine, numbersInTheLine.length * 2);
+		}
+		numbersInTheLine[index] = number;
+	}
+
+	private void acceptLine(final int numberCount, final boolean isRuleLine, final boolean isUpdateLine) {
+		if (isRuleLine) {
+			if (numberCount != 2) {
+				throw new IllegalArgumentException("A rule has to have 2 pages, but it has " + numberCount + ": " + Arrays.toString(Arrays.copyOf(numbersInTheLine, numberCount)));
+			}
+			pageOrderingRules.addRule(numbersInTheLine[0], numbersInTheLine[1]);
+		} else if (isUpdateLine) {
+			accept(Arrays.copyOf(numbersInTheLine, numberCount));
+		}
+	}
+
+	private double perSecond(final long count) {
+		final long elapsedNanos = System.nanoTime() - startNanos;
+		return elapsedNanos > 0 ? count * 1e9 / elapsedNanos : 0;
+	}
+}
@@ -0,0 +1,26 @@
+package org.adventofcode.day06;
+
+/**
+ * Gets the moves of the guard while {@link GuardSimulator} walks her, for example to draw them (see
+ * {@link MapRenderer}). The simulation doesn't need it, it has its own state, so the measured runs use {@link #NONE}.
+ * The cells are row * width + column, the directions are the ones of {@link GuardSimulator}.
+ */
+public interface GuardObserver {
+
+	GuardObserver NONE = new GuardObserver() {};
+
+	/**
+	 * The guard stepped from 'fromCell' onto 'toCell'.
+	 */
+	default void guardStepped(final int fromCell, final int toCell, final int direction) {}
+
+	/**
+	 * The guard turned on the cell, and faces the direction now.
+	 */
+	default void guardTurned(final int cell, final int direction) {}
+
+	/**
+	 * The guard stepped off the map from the cell.
+	 */
+	default void guardLeftTheMap(final int cell) {}
+}
@@ -0,0 +1,301 @@
+package org.adventofcode.day06;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The guard's walk on the map, on int cell indexes (row * width + column) instead of the chars of the map.
+ * <p>
+ * The guard only turns in front of an obstacle, so between 2 turns she walks straight. For every cell and direction
+ * the jump table has the cell where she stops in front of the next obstacle (or {@link #LEAVES_MAP}), so a straight
+ * walk is 1 lookup, not 1 step per cell.
+ * The extra obstacle of part 2 is not written into the table, it is an overlay: it can only be in the row or column of
+ * a jump, so after each lookup it is checked if it is between the guard and her stop (then she stops in front of it
+ * instead). So the table is only read after it is built, and every thread can use it without a copy of its own.
+ * <p>
+ * The guard is in a loop if she stops at the same cell facing the same direction again: from there she would walk the
+ * same way again. So only the stops are remembered, in a (cell, direction) bitset, see {@link VisitedStops}.
+ * <p>
+ * The extra obstacles are tried in parallel, each thread with its own reused {@link VisitedStops}. The guard walks the
+ * same way as without the extra obstacle until she first steps onto its cell, so each walk starts from her state (cell
+ * and direction) right before that step, not from her starting cell.
+ */
+public final class GuardSimulator {
+
+	public static final int LEAVES_MAP = -1;
+	static final int NORTH = 0;
+	static final int EAST = 1;
+	static final int SOUTH = 2;
+	static final int WEST = 3;
+	private static final int DIRECTION_COUNT = 4;
+	private static final byte CHAR_GUARD = '^';
+	private static final byte CHAR_OBSTACLE = '#';
+	private static final byte CHAR_OBSTACLE_CUSTOM = 'O';
+	// fewer obstacles are not worth to split up, the threads would cost more than the walks themselves
+	private static final int MIN_OBSTACLES_PER_CHUNK = 64;
+	// the walks are not the same long, so there are more chunks than threads to let the idle threads steal them
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final int width;
+	private final int height;
+	private final boolean[] obstacles;
+	private final int guardStartingCell;
+	private final int[] stops; // stops[cell * DIRECTION_COUNT + direction] = the cell where the guard stops, or LEAVES_MAP
+
+	public GuardSimulator(final PuzzleInput input) {
+		height = input.lineCount();
+		width = input.maxLineLength();
+		obstacles = new boolean[width * height];
+		int guardCell = LEAVES_MAP;
+		for (int row = 0; row < height; row++) {
+			for (int column = 0; column < input.lineLength(row); column++) {
+				final byte c = input.byteAt(row, column);
+				if (c == CHAR_OBSTACLE || c == CHAR_OBSTACLE_CUSTOM) {
+					obstacles[cell(row, column)] = true;
+				} else if (c == CHAR_GUARD) {
+					guardCell = cell(row, column);
+				}
+			}
+		}
+		if (guardCell == LEAVES_MAP) {
+			throw new IllegalArgumentException("There is no guard ('^') on the map");
+		}
+		guardStartingCell = guardCell;
+		stops = new int[width * height * DIRECTION_COUNT];
+		for (int row = 0; row < height; row++) {
+			fillRow(row);
+		}
+		for (int column = 0; column < width; column++) {
+			fillColumn(column);
+		}
+	}
+
+	/**
+	 * Walks the guard (without an extra obstacle) until she leaves the map, step by step.
+	 */
+	public GuardPath walkUntilTheGuardLeavesTheMap() {
+		return walkUntilTheGuardLeavesTheMap(GuardObserver.NONE);
+	}
+
+	/**
+	 * Same as {@link #walkUntilTheGuardLeavesTheMap()}, and the observer gets every step and turn of the guard.
+	 */
+	public GuardPath walkUntilTheGuardLeavesTheMap(final GuardObserver guardObserver) {
+		final boolean[] isVisitedCell = new boolean[width * height];
+		final int[] visitedCells = new int[width * height];
+		final int[] statesBeforeFirstStep = new int[width * height];
+		final VisitedStops visitedStops = new VisitedStops();
+		int visitedCellCount = 0;
+		int cell = guardStartingCell;
+		int direction = NORTH;
+		isVisitedCell[cell] = true;
+		statesBeforeFirstStep[visitedCellCount] = LEAVES_MAP; // she didn't step onto her starting cell
+		visitedCells[visitedCellCount++] = cell;
+		while (true) {
+			final int stop = stops[cell * DIRECTION_COUNT + direction];
+			if (stop != LEAVES_MAP && visitedStops.markVisited(stop, direction)) {
+				throw new IllegalStateException("The guard never leaves the map, she walks in a loop");
+			}
+			final int lastCell = stop == LEAVES_MAP ? edgeCell(cell, direction) : stop;
+			final int step = step(direction);
+			while (cell != lastCell) {
+				if (!isVisitedCell[cell + step]) {
+					isVisitedCell[cell + step] = true;
+					statesBeforeFirstStep[visitedCellCount] = state(cell, direction);
+					visitedCells[visitedCellCount++] = cell + step;
+				}
+				guardObserver.guardStepped(cell, cell + step, direction);
+				cell += step;
+			}
+			if (stop == LEAVES_MAP) {
+				guardObserver.guardLeftTheMap(cell);
+				return new GuardPath(
+					Arrays.copyOf(visitedCells, visitedCellCount),
+					Arrays.copyOf(statesBeforeFirstStep, visitedCellCount)
+				);
+			}
+			direction = turn(direction);
+			guardObserver.guardTurned(cell, direction);
+		}
+	}
+
+	/**
+	 * Tries an extra obstacle on every cell of the path (except the guard's starting cell, she would see the obstacle
+	 * being placed there), in parallel if there are enough of them.
+	 *
+	 * @return on how many cells the extra obstacle makes the guard stuck in a loop
+	 */
+	public long countObstaclesMakingLoop(final GuardPath guardPath) {
+		final int[] visitedCells = guardPath.visitedCells();
+		final int chunkCount = Math.clamp(visitedCells.length / MIN_OBSTACLES_PER_CHUNK, 1, CHUNKS_PER_THREAD * ForkJoinPool.getCommonPoolParallelism());
+		final int chunkLength = Math.ceilDiv(visitedCells.length, chunkCount);
+		final IntStream chunks = IntStream.range(0, chunkCount);
+		return (chunkCount > 1 ? chunks.parallel() : chunks)
+			.mapToLong(chunk -> {
+				final VisitedStops visitedStops = new VisitedStops(); // reused for every walk of the chunk
+				final int chunkEnd = Math.min((chunk + 1) * chunkLength, visitedCells.length);
+				long loopCounter = 0;
+				for (int i = chunk * chunkLength; i < chunkEnd; i++) {
+					final int cell = visitedCells[i];
+					final int stateBeforeFirstStep = guardPath.statesBeforeFirstStep()[i];
+					if (cell != guardStartingCell && isGuardStuckInLoop(cell, stateBeforeFirstStep, visitedStops)) {
+						loopCounter++;
+					}
+				}
+				return loopCounter;
+			})
+			.sum();
+	}
+
+	/**
+	 * Walks the guard from the state with the jump table, with an extra obstacle on the cell.
+	 *
+	 * @return if the guard got stuck in a loop
+	 */
+	private boolean isGuardStuckInLoop(final int obstacleCell, final int startingState, final VisitedStops visitedStops) {
+		final int obstacleRow = obstacleCell / width;
+		final int obstacleColumn = obstacleCell % width;
+		int cell = startingState / DIRECTION_COUNT;
+		int direction = startingState % DIRECTION_COUNT;
+		try {
+			while (true) {
+				final int stop = stopWithObstacle(cell, direction, stops[cell * DIRECTION_COUNT + direction], obstacleRow, obstacleColumn);
+				if (stop == LEAVES_MAP) {
+					return false;
+				}
+				if (visitedStops.markVisited(stop, direction)) {
+					return true;
+				}
+				cell = stop;
+				direction = turn(direction);
+			}
+		} finally {
+			visitedStops.clear();
+		}
+	}
+
+	/**
+	 * @return the stop of the jump, or the cell in front of the extra obstacle if it is between the cell and the stop
+	 */
+	private int stopWithObstacle(final int cell, final int direction, final int stop, final int obstacleRow, final int obstacleColumn) {
+		final int row = cell / width;
+		final int column = cell % width;
+		final boolean isObstacleInTheWay = switch (direction) {
+			case NORTH -> obstacleColumn == column && obstacleRow < row && (stop == LEAVES_MAP || obstacleRow >= stop / width);
+			case EAST -> obstacleRow == row && obstacleColumn > column && (stop == LEAVES_MAP || obstacleColumn <= stop % width);
+			case SOUTH -> obstacleColumn == column && obstacleRow > row && (stop == LEAVES_MAP || obstacleRow <= stop / width);
+			case WEST -> obstacleRow == row && obstacleColumn < column && (stop == LEAVES_MAP || obstacleColumn >= stop % width);
+			default -> throw new IllegalStateException("Unknown direction: " + direction);
+		};
+		return isObstacleInTheWay ? cell(obstacleRow, obstacleColumn) - step(direction) : stop;
+	}
+
+	private void fillRow(final int row) {
+		fillLine(cell(row, width - 1), -1, width, EAST);
+		fillLine(cell(row, 0), 1, width, WEST);
+	}
+
+	private void fillColumn(final int column) {
+		fillLine(cell(0, column), width, height, NORTH);
+		fillLine(cell(height - 1, column), -width, height, SOUTH);
+	}
+
+	/**
+	 * Fills the stops of 1 line in 1 direction: the line is walked backwards, from the edge the guard would leave the
+	 * map at, and the last obstacle seen tells where the guard stops (on the cell right behind it).
+	 */
+	private void fillLine(final int edgeCell, final int backwardStep, final int length, final int direction) {
+		int stop = LEAVES_MAP;
+		int cell = edgeCell;
+		for (int i = 0; i < length; i++, cell += backwardStep) {
+			if (obstacles[cell]) {
+				stop = cell + backwardStep;
+			} else {
+				stops[cell * DIRECTION_COUNT + direction] = stop;
+			}
+		}
+	}
+
+	/**
+	 * @return the last cell of the map from the cell in the direction
+	 */
+	private int edgeCell(final int cell, final int direction) {
+		final int row = cell / width;
+		final int column = cell % width;
+		return switch (direction) {
+			case NORTH -> cell(0, column);
+			case EAST -> cell(row, width - 1);
+			case SOUTH -> cell(height - 1, column);
+			case WEST -> cell(row, 0);
+			default -> throw new IllegalStateException("Unknown direction: " + direction);
+		};
+	}
+
+	private int step(final int direction) {
+		return switch (direction) {
+			case NORTH -> -width;
+			case EAST -> 1;
+			case SOUTH -> width;
+			case WEST -> -1;
+			default -> throw new IllegalStateException("Unknown direction: " + direction);
+		};
+	}
+
+	private static int state(final int cell, final int direction) {
+		return cell * DIRECTION_COUNT + direction;
+	}
+
+	private static int turn(final int direction) {
+		return (direction + 1) % DIRECTION_COUNT; // 90 degrees to the right
+	}
+
+	private int cell(final int row, final int column) {
+		return row * width + column;
+	}
+
+	/**
+	 * The path of the guard without an extra obstacle.
+	 *
+	 * @param visitedCells the cells she stepped on (the starting cell too), in the order of her first step on them
+	 * @param statesBeforeFirstStep by the index of the cell in 'visitedCells': her cell * 4 + direction right before
+	 * her first step onto it ({@link #LEAVES_MAP} for the starting cell)
+	 */
+	public record GuardPath(int[] visitedCells, int[] statesBeforeFirstStep) {}
+
+	/**
+	 * The (cell, direction) bitset of the stops of 1 walk. After a walk only the words which were set are cleared, so
+	 * it can be reused for the next walk without clearing the whole bitset.
+	 */
+	private final class VisitedStops {
+
+		private final long[] bits = new long[Math.ceilDiv(width * height * DIRECTION_COUNT, Long.SIZE)];
+		private final int[] setWords = new int[bits.length];
+		private int setWordCount;
+
+		/**
+		 * @return if the stop was already visited
+		 */
+		private boolean markVisited(final int stop, final int direction) {
+			final int bit = state(stop, direction);
+			final int word = bit >>> 6;
+			if ((bits[word] & (1L << bit)) != 0) {
+				return true;
+			}
+			if (bits[word] == 0) {
+				setWords[setWordCount++] = word;
+			}
+			bits[word] |= 1L << bit;
+			return false;
+		}
+
+		private void clear() {
+			for (int i = 0; i < setWordCount; i++) {
+				bits[setWords[i]] = 0;
+			}
+			setWordCount = 0;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package org.adventofcode.day06;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.io.PrintStream;
+
+/**
+ * Draws the walk of the guard onto a char copy of the map: the cells she left are marked with an 'X', and she is drawn
+ * with the char of her direction. The map can be printed as a frame after every given number of steps (to see her
+ * walk), and at the end.
+ * It is only for debugging, it is slow on a big map.
+ */
+public final class MapRenderer implements GuardObserver {
+
+	private static final char[] CHAR_GUARD_BY_DIRECTION = {'^', '>', 'v', '<'}; // by the directions of GuardSimulator
+	private static final char CHAR_MARK = 'X';
+
+	private final char[][] mapCharTable;
+	private final int width;
+	private final PrintStream printStream;
+	private final int stepsPerFrame;
+	private long stepCounter;
+
+	/**
+	 * @param stepsPerFrame print the map after this many steps, 0 to print it only when the guard leaves the map
+	 */
+	public MapRenderer(final PuzzleInput input, final PrintStream printStream, final int stepsPerFrame) {
+		mapCharTable = new char[input.lineCount()][input.maxLineLength()];
+		for (int row = 0; row < input.lineCount(); row++) {
+			for (int column = 0; column < input.lineLength(row); column++) {
+				mapCharTable[row][column] = (char) input.byteAt(row, column);
+			}
+		}
+		width = input.maxLineLength();
+		this.printStream = printStream;
+		this.stepsPerFrame = stepsPerFrame;
+	}
+
+	@Override
+	public void guardStepped(final int fromCell, final int toCell, final int direction) {
+		draw(fromCell, CHAR_MARK);
+		draw(toCell, CHAR_GUARD_BY_DIRECTION[direction]);
+		stepCounter++;
+		if (stepsPerFrame > 0 && stepCounter % stepsPerFrame == 0) {
+			printMap();
+		}
+	}
+
+	@Override
+	public void guardTurned(final int cell, final int direction) {
+		draw(cell, CHAR_GUARD_BY_DIRECTION[direction]);
+	}
+
+	@Override
+	public void guardLeftTheMap(final int cell) {
+		draw(cell, CHAR_MARK);
+		printMap();
+	}
+
+	public void printMap() {
+		final StringBuilder frame = new StringBuilder(mapCharTable.length * (width + 1) + 1);
+		for (final char[] row : mapCharTable) {
+			frame.append(row).append(System.lineSeparator());
+		}
+		printStream.println(frame);
+	}
+
+	private void draw(final int cell, final char c) {
+		mapCharTable[cell / width][cell % width] = c;
+	}
+}
@@ -0,0 +1,136 @@
+package org.adventofcode.day07;
+
+/**
+ * The operators of the puzzle ('+', '*' and '||'), and some more for other calibration files. Every one has an
+ * inverse ('min', which has none, is the {@link MinOperator}).
+ * They are 1 class (with a switch, not a class for every constant), so the solver's calls of them stay monomorphic
+ * and can be inlined.
+ */
+public enum BuiltInOperator implements InvertibleOperator {
+
+	ADD("+"),
+	MULTIPLY("*"),
+	CONCATENATION("||"),
+	SUBTRACT("-"),
+	XOR("^");
+
+	private final String symbol;
+
+	BuiltInOperator(final String symbol) {
+		this.symbol = symbol;
+	}
+
+	@Override
+	public String symbol() {
+		return symbol;
+	}
+
+	@Override
+	public long apply(final long left, final long right) {
+		return switch (this) {
+			case ADD -> left + right;
+			case MULTIPLY -> left * right;
+			// like joining the digits: "12" || "345" = "12345", and "-12" || "345" = "-12345"
+			case CONCATENATION -> left < 0 ? left * powerOfTenAbove(right) - right : left * powerOfTenAbove(right) + right;
+			case SUBTRACT -> left - right;
+			case XOR -> left ^ right;
+		};
+	}
+
+	@Override
+	public boolean isOverflowing(final long left, final long right) {
+		return switch (this) {
+			case ADD -> isAddOverflowing(left, right);
+			case MULTIPLY -> isMultiplyOverflowing(left, right);
+			case CONCATENATION -> {
+				final long powerOfTen = powerOfTenAbove(right);
+				yield isMultiplyOverflowing(left, powerOfTen)
+					|| (left < 0 ? isSubtractOverflowing(left * powerOfTen, right) : isAddOverflowing(left * powerOfTen, right));
+			}
+			case SUBTRACT -> isSubtractOverflowing(left, right);
+			case XOR -> false;
+		};
+	}
+
+	/**
+	 * '||' joins the digits, and a negative number is not only digits: "12" || "-3" is not a number.
+	 */
+	@Override
+	public boolean isAcceptingRight(final long right) {
+		return this != CONCATENATION || right >= 0;
+	}
+
+	@Override
+	public boolean hasInverse(final long result, final long right) {
+		return switch (this) {
+			// the left value has to fit into a long too, a left value which overflows is no left value
+			case ADD -> !isSubtractOverflowing(result, right);
+			case MULTIPLY -> right == 0 ? result == 0 : result % right == 0 && !(result == Long.MIN_VALUE && right == -1);
+			// the result has to end with the digits of the right number, the left value is the digits before it
+			case CONCATENATION -> {
+				final long powerOfTen = powerOfTenAbove(right);
+				yield Math.abs(result % powerOfTen) == right && (result >= 0 || result / powerOfTen < 0);
+			}
+			case SUBTRACT -> !isAddOverflowing(result, right);
+			case XOR -> true;
+		};
+	}
+
+	@Override
+	public boolean isResultOfAnyLeft(final long result, final long right) {
+		return this == MULTIPLY && right == 0;
+	}
+
+	@Override
+	public long inverse(final long result, final long right) {
+		return switch (this) {
+			case ADD -> result - right;
+			case MULTIPLY -> result / right;
+			case CONCATENATION -> result / powerOfTenAbove(right);
+			case SUBTRACT -> result + right;
+			case XOR -> result ^ right;
+		};
+	}
+
+	@Override
+	public boolean isKeepingNonNegative() {
+		return this != SUBTRACT;
+	}
+
+	@Override
+	public boolean isNeverDecreasing() {
+		return this == ADD || this == MULTIPLY || this == CONCATENATION;
+	}
+
+	/*
+	The bounds are checked before the operation (instead of Math.addExact and the others), so a value which would
+	overflow is ruled out without throwing an exception.
+	 */
+	private static boolean isAddOverflowing(final long left, final long right) {
+		return right >= 0 ? left > Long.MAX_VALUE - right : left < Long.MIN_VALUE - right;
+	}
+
+	private static boolean isSubtractOverflowing(final long left, final long right) {
+		return right >= 0 ? left < Long.MIN_VALUE + right : left > Long.MAX_VALUE + right;
+	}
+
+	private static boolean isMultiplyOverflowing(final long left, final long right) {
+		// the high 64 bits of the 128 bit product are only the sign bits of the low 64 bits if it fits into a long
+		return Math.multiplyHigh(left, right) != (left * right) >> 63;
+	}
+
+	/**
+	 * @return the smallest power of 10 which is bigger than the number: the left value is shifted by it in a
+	 * concatenation
+	 */
+	private static long powerOfTenAbove(final long number) {
+		if (number < 0) {
+			throw new IllegalArgumentException("Can't concatenate a negative number: " + number);
+		}
+		long powerOfTen = 10;
+		while (powerOfTen <= number) {
+			powerOfTen *= 10;
+		}
+		return powerOfTen;
+	}
+}
@@ -0,0 +1,156 @@
+package org.adventofcode.day07;
+
+import java.util.List;
+
+/**
+ * Tells if a calibration equation can be made true with the given operators (evaluated left to right), without trying
+ * every operator variation (k^n of them for k operators and n numbers).
+ * <p>
+ * If every operator has an inverse ({@link InvertibleOperator}), the equation is solved backwards, from the test value:
+ * the last operator was applied to the last number, so the value before it is calculated back with the inverse, and an
+ * operator is ruled out right away where there is no such value (for example '*' if the value is not divisible by the
+ * number, '||' if it doesn't end with the digits of the number). If every operator keeps the values non-negative, a
+ * negative value is ruled out too (for '+' it means the value is smaller than the number). So most branches stop at the
+ * first level.
+ * <p>
+ * If an operator has no inverse, the operators are tried forwards, with the bounds checked before each operation: a
+ * value which doesn't fit into a long is ruled out (an overflown value could match the test value by accident), and if
+ * every operator never decreases the value, a value which is already bigger than the test value is ruled out (it stops
+ * the search early, so it also keeps the values far from overflowing). The backward search rules out a value which
+ * doesn't fit into a long the same way (the inverse of '-' adds, and the inverse of '+' of a negative number adds too).
+ * <p>
+ * Nothing is allocated while solving (only the recursion, 1 level per number). The solver is not changed after it is
+ * made, so it can be used by more threads at the same time.
+ */
+public final class EquationSolver {
+
+	private final Operator[] operators;
+	private final boolean isEveryOperatorInvertible;
+	private final InvertibleOperator[] invertibleOperators; // the same operators, if every one is invertible
+	private final boolean isEveryOperatorKeepingNonNegative;
+	private final boolean isEveryOperatorNeverDecreasing;
+
+	public EquationSolver(final List<? extends Operator> operators) {
+		if (operators.isEmpty()) {
+			throw new IllegalArgumentException("At least 1 operator is needed");
+		}
+		this.operators = operators.toArray(Operator[]::new);
+		isEveryOperatorInvertible = operators.stream().allMatch(InvertibleOperator.class::isInstance);
+		invertibleOperators = isEveryOperatorInvertible ? operators.toArray(InvertibleOperator[]::new) : new InvertibleOperator[0];
+		isEveryOperatorKeepingNonNegative = operators.stream().allMatch(Operator::isKeepingNonNegative);
+		isEveryOperatorNeverDecreasing = operators.stream().allMatch(Operator::isNeverDecreasing);
+	}
+
+	public boolean canBeMadeTrue(final long testValue, final int[] numbers) {
+		return canBeMadeTrue(testValue, numbers, numbers.length);
+	}
+
+	/**
+	 * Only the first 'numberCount' numbers are the numbers of the equation, so a reused buffer can be given.
+	 */
+	public boolean canBeMadeTrue(final long testValue, final int[] numbers, final int numberCount) {
+		if (numberCount == 0) {
+			return false;
+		}
+		checkRightNumbers(numbers, numberCount);
+		if (isEveryOperatorInvertible) {
+			final boolean isNegativeValuePruned = isEveryOperatorKeepingNonNegative && isEveryNumberAtLeast(numbers, numberCount, 0);
+			return canBeMadeTrueBackwards(testValue, numbers, numberCount - 1, isNegativeValuePruned);
+		}
+		final boolean isBiggerValuePruned = isEveryOperatorNeverDecreasing && numbers[0] >= 0 && isEveryNumberAtLeast(numbers, numberCount, 1);
+		return canBeMadeTrueForwards(numbers[0], testValue, numbers, numberCount, 1, isBiggerValuePruned);
+	}
+
+	/**
+	 * @return if the numbers until 'lastIndex' (inclusive) can give the target
+	 */
+	private boolean canBeMadeTrueBackwards(final long target, final int[] numbers, final int lastIndex, final boolean isNegativeValuePruned) {
+		if (lastIndex == 0) {
+			return target == numbers[0];
+		}
+		final int number = numbers[lastIndex];
+		for (final InvertibleOperator operator : invertibleOperators) {
+			if (!operator.hasInverse(target, number)) {
+				continue;
+			}
+			if (operator.isResultOfAnyLeft(target, number)) {
+				// any value of the numbers before is fine, but there has to be 1 which fits into a long (like forwards)
+				return isAnyValueReachable(numbers[0], numbers, 1, lastIndex);
+			}
+			final long left = operator.inverse(target, number);
+			if (!(isNegativeValuePruned && left < 0)
+				&& canBeMadeTrueBackwards(left, numbers, lastIndex - 1, isNegativeValuePruned)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return if the value so far (of the numbers before 'index') and the rest of the numbers can give the target
+	 */
+	private boolean canBeMadeTrueForwards(
+		final long value,
+		final long target,
+		final int[] numbers,
+		final int numberCount,
+		final int index,
+		final boolean isBiggerValuePruned
+	) {
+		if (index == numberCount) {
+			return value == target;
+		}
+		if (isBiggerValuePruned && value > target) {
+			return false;
+		}
+		for (final Operator operator : operators) {
+			if (operator.isOverflowing(value, numbers[index])) {
+				continue; // the value doesn't fit into a long
+			}
+			final long nextValue = operator.apply(value, numbers[index]);
+			if (canBeMadeTrueForwards(nextValue, target, numbers, numberCount, index + 1, isBiggerValuePruned)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return if the value so far (of the numbers before 'index') and the numbers until 'endIndex' (exclusive) can give
+	 * any value without an overflow
+	 */
+	private boolean isAnyValueReachable(final long value, final int[] numbers, final int index, final int endIndex) {
+		if (index == endIndex) {
+			return true;
+		}
+		for (final Operator operator : operators) {
+			if (!operator.isOverflowing(value, numbers[index])
+				&& isAnyValueReachable(operator.apply(value, numbers[index]), numbers, index + 1, endIndex)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Every number after the first one is the right number of an operator, which it has to accept in both directions.
+	 */
+	private void checkRightNumbers(final int[] numbers, final int numberCount) {
+		for (int i = 1; i < numberCount; i++) {
+			for (final Operator operator : operators) {
+				if (!operator.isAcceptingRight(numbers[i])) {
+					throw new IllegalArgumentException("The operator '" + operator.symbol() + "' doesn't accept the number: " + numbers[i]);
+				}
+			}
+		}
+	}
+
+	private static boolean isEveryNumberAtLeast(final int[] numbers, final int numberCount, final int minimum) {
+		for (int i = 0; i < numberCount; i++) {
+			if (numbers[i] < minimum) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
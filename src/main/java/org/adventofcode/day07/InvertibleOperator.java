@@ -0,0 +1,32 @@
+package org.adventofcode.day07;
+
+/**
+ * An operator with an inverse: from the result and the right number it tells what the left value was. With it the
+ * {@link EquationSolver} can search backwards from the test value, and rule out the operator right away where there is
+ * no such left value (like a result which is not divisible by the number for '*').
+ * If there is no left value or every left value gives the result, it is told by separate checks (not by special
+ * return values, every long can be a real left value), so the search doesn't allocate.
+ */
+public interface InvertibleOperator extends Operator {
+
+	/**
+	 * @return if there is a left value which fits into a long, for which 'apply(left, right) == result'
+	 */
+	boolean hasInverse(long result, long right);
+
+	/**
+	 * Only called if {@link #hasInverse(long, long)}.
+	 *
+	 * @return if every left value gives the result (like anything * 0 is 0), so there is no single left value
+	 */
+	default boolean isResultOfAnyLeft(final long result, final long right) {
+		return false;
+	}
+
+	/**
+	 * Only called if {@link #hasInverse(long, long)} and not {@link #isResultOfAnyLeft(long, long)}.
+	 *
+	 * @return the only left value for which 'apply(left, right) == result'
+	 */
+	long inverse(long result, long right);
+}
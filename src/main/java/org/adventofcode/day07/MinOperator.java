@@ -0,0 +1,26 @@
+package org.adventofcode.day07;
+
+/**
+ * 'min', for other calibration files. It has no inverse: if the result is the right number, the left value could be
+ * anything bigger. So it is not a {@link BuiltInOperator} (those are all invertible), and a solver with it searches
+ * forwards.
+ */
+public enum MinOperator implements Operator {
+
+	MIN;
+
+	@Override
+	public String symbol() {
+		return "min";
+	}
+
+	@Override
+	public long apply(final long left, final long right) {
+		return Math.min(left, right);
+	}
+
+	@Override
+	public boolean isKeepingNonNegative() {
+		return true;
+	}
+}
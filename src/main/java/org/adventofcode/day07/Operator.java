@@ -0,0 +1,48 @@
+package org.adventofcode.day07;
+
+/**
+ * An operator of the calibration equations, applied left to right: 'apply(value so far, next number)'.
+ * <p>
+ * An operator can have an inverse, then it is an {@link InvertibleOperator}. If every operator has one, the
+ * {@link EquationSolver} searches backwards from the test value, otherwise it has to try the operators forwards.
+ * <p>
+ * The built-in operators are in {@link BuiltInOperator} (all with an inverse) and {@link MinOperator}.
+ */
+public interface Operator {
+
+	String symbol();
+
+	long apply(long left, long right);
+
+	/**
+	 * @return if the operator is defined for the right number. The solver checks every number of an equation first,
+	 * so the backward and the forward search reject the same equations.
+	 */
+	default boolean isAcceptingRight(final long right) {
+		return true;
+	}
+
+	/**
+	 * @return if 'apply(left, right)' doesn't fit into a long, so it would give an overflown value. By default false,
+	 * for the operators which can't overflow.
+	 */
+	default boolean isOverflowing(final long left, final long right) {
+		return false;
+	}
+
+	/**
+	 * @return if 'apply(left, right) >= 0' for every 'left >= 0' and 'right >= 0': if every operator is like this
+	 * (and every number is not negative), a negative value can't be made, so it is pruned
+	 */
+	default boolean isKeepingNonNegative() {
+		return false;
+	}
+
+	/**
+	 * @return if 'apply(left, right) >= left' for every 'left >= 0' and 'right >= 1': if every operator is like this
+	 * (and every number is positive), a value bigger than the test value can't get smaller, so it is pruned
+	 */
+	default boolean isNeverDecreasing() {
+		return false;
+	}
+}
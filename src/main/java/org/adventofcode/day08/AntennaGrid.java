@@ -0,0 +1,314 @@
+package org.adventofcode.day08;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * The antennas of the map, on int cell indexes (y * width + x) instead of the chars of the map or boxed coordinates.
+ * <p>
+ * The antennas are grouped by their frequency into int arrays of cells, made with 2 passes on the input: the 1st pass
+ * counts the antennas of each frequency, so the 2nd pass can fill arrays which have the right length from the start.
+ * So an antenna costs 4 bytes, and the pairs of antennas are never collected, they are 2 loop indexes.
+ * <p>
+ * The antinodes are set in a bitset of the grid (1 bit per cell), so an antinode found more times is not counted more
+ * times, and the count is the popcount of the bitset words. The memory is the same for any number of antinodes.
+ * <p>
+ * The full line mode ({@link #countAntinodesOnFullLines()}) works on the frequencies in parallel: each frequency sets
+ * its own bitset (so the threads don't write the same words), and the bitsets are merged with OR at the end.
+ * <p>
+ * Part 1 and part 2 can give the antinodes to an {@link AntinodeObserver} (to draw them for debugging). The full line
+ * mode can't, its threads would call the observer at the same time.
+ */
+public final class AntennaGrid {
+
+	private static final byte CHAR_EMPTY = '.';
+	private static final int BYTE_VALUES = 256;
+	// fewer antennas are not worth to split up by frequency, the threads would cost more than the lines themselves
+	private static final int MIN_ANTENNAS_TO_SPLIT_UP = 1 << 8;
+
+	private final int width;
+	private final int height;
+	private final byte[] frequencies; // the different antenna chars on the map, in char order
+	private final int[][] antennaCellsByFrequency; // by the index of the frequency in 'frequencies'
+	private final int antennaCount;
+
+	public AntennaGrid(final PuzzleInput input) {
+		height = input.lineCount();
+		width = input.maxLineLength();
+
+		final int[] antennaCountsByChar = new int[BYTE_VALUES];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < input.lineLength(y); x++) {
+				final byte c = input.byteAt(y, x);
+				if (c != CHAR_EMPTY) {
+					antennaCountsByChar[c & 0xFF]++;
+				}
+			}
+		}
+
+		int frequencyCount = 0;
+		for (final int antennaCount : antennaCountsByChar) {
+			if (antennaCount > 0) {
+				frequencyCount++;
+			}
+		}
+		frequencies = new byte[frequencyCount];
+		antennaCellsByFrequency = new int[frequencyCount][];
+		final int[] frequencyIndexByChar = new int[BYTE_VALUES];
+		for (int c = 0, frequency = 0; c < BYTE_VALUES; c++) {
+			if (antennaCountsByChar[c] > 0) {
+				frequencies[frequency] = (byte) c;
+				antennaCellsByFrequency[frequency] = new int[antennaCountsByChar[c]];
+				frequencyIndexByChar[c] = frequency++;
+			}
+		}
+
+		int antennaCounter = 0;
+		final int[] filledCounts = new int[frequencyCount];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < input.lineLength(y); x++) {
+				final byte c = input.byteAt(y, x);
+				if (c != CHAR_EMPTY) {
+					final int frequency = frequencyIndexByChar[c & 0xFF];
+					antennaCellsByFrequency[frequency][filledCounts[frequency]++] = cell(x, y);
+					antennaCounter++;
+				}
+			}
+		}
+		antennaCount = antennaCounter;
+	}
+
+	/**
+	 * Part 1: every pair of antennas of the same frequency has 2 antinodes, on their line, 1 on each side, as far from
+	 * the nearer antenna as the 2 antennas are from each other.
+	 *
+	 * @return how many cells of the map have an antinode
+	 */
+	public long countAntinodes() {
+		return countAntinodes(AntinodeObserver.NONE);
+	}
+
+	/**
+	 * Same as {@link #countAntinodes()}, and the observer gets every antinode.
+	 */
+	public long countAntinodes(final AntinodeObserver antinodeObserver) {
+		final long[] antinodes = newGridBitset();
+		for (final int[] antennaCells : antennaCellsByFrequency) {
+			for (int i = 0; i < antennaCells.length - 1; i++) {
+				final int x1 = antennaCells[i] % width;
+				final int y1 = antennaCells[i] / width;
+				for (int j = i + 1; j < antennaCells.length; j++) {
+					final int x2 = antennaCells[j] % width;
+					final int y2 = antennaCells[j] / width;
+					setIfOnTheMap(antinodes, 2 * x1 - x2, 2 * y1 - y2, antinodeObserver);
+					setIfOnTheMap(antinodes, 2 * x2 - x1, 2 * y2 - y1, antinodeObserver);
+				}
+			}
+		}
+		return countSetBits(antinodes);
+	}
+
+	/**
+	 * Part 2, the "resonant harmonics": the antinodes repeat on the line of the pair, by the distance of the 2 antennas,
+	 * in both directions until the line leaves the map. The antennas themselves are antinodes too (if the frequency has
+	 * more than 1 antenna, so they are in a pair).
+	 *
+	 * @return how many cells of the map have an antinode
+	 */
+	public long countAntinodesWithResonantHarmonics() {
+		return countAntinodesWithResonantHarmonics(AntinodeObserver.NONE);
+	}
+
+	/**
+	 * Same as {@link #countAntinodesWithResonantHarmonics()}, and the observer gets every antinode.
+	 */
+	public long countAntinodesWithResonantHarmonics(final AntinodeObserver antinodeObserver) {
+		final long[] antinodes = newGridBitset();
+		for (final int[] antennaCells : antennaCellsByFrequency) {
+			for (int i = 0; i < antennaCells.length - 1; i++) {
+				final int x1 = antennaCells[i] % width;
+				final int y1 = antennaCells[i] / width;
+				for (int j = i + 1; j < antennaCells.length; j++) {
+					final int dx = x1 - antennaCells[j] % width;
+					final int dy = y1 - antennaCells[j] / width;
+					// from the 1st antenna away from the 2nd one, then from the 2nd antenna away from the 1st one
+					setLineUntilTheEdge(antinodes, x1, y1, dx, dy, antinodeObserver);
+					setLineUntilTheEdge(antinodes, x1 - dx, y1 - dy, -dx, -dy, antinodeObserver);
+				}
+			}
+		}
+		return countSetBits(antinodes);
+	}
+
+	/**
+	 * Part 2 on the whole line of each pair: every cell exactly on the line of 2 antennas of the same frequency is an
+	 * antinode, also the cells between them and the cells which are not a whole multiple of their distance away (if
+	 * the distance vector has a common divisor, for example (4, 2), the cells by (2, 1) are on the line too).
+	 * <p>
+	 * The distance vector is divided by its gcd, so it is the smallest step between 2 cells of the line, and the line
+	 * is set from edge to edge in 1 pass: the first and the last step on the map is calculated, not checked step by
+	 * step. Collinear antennas are on the same line, so a line is set only for the first pair of antennas on it: an
+	 * antenna skips the pair if the same (reduced) direction was already seen from it, to an earlier antenna or to a
+	 * later one. So a line costs its cells only once, not once for each pair of its antennas.
+	 *
+	 * @return how many cells of the map have an antinode
+	 */
+	public long countAntinodesOnFullLines() {
+		final IntStream frequencyIndexes = IntStream.range(0, frequencies.length);
+		return (antennaCount >= MIN_ANTENNAS_TO_SPLIT_UP && frequencies.length > 1 ? frequencyIndexes.parallel() : frequencyIndexes)
+			.mapToObj(frequency -> setFullLineAntinodes(antennaCellsByFrequency[frequency]))
+			.reduce(AntennaGrid::or)
+			.map(AntennaGrid::countSetBits)
+			.orElse(0L);
+	}
+
+	/**
+	 * Only for debugging.
+	 *
+	 * @return how many antennas each frequency has, sorted by the frequency
+	 */
+	public Map<Character, Integer> getAntennaCountsByFrequency() {
+		final Map<Character, Integer> antennaCountsByFrequency = new TreeMap<>();
+		for (int frequency = 0; frequency < frequencies.length; frequency++) {
+			antennaCountsByFrequency.put((char) (frequencies[frequency] & 0xFF), antennaCellsByFrequency[frequency].length);
+		}
+		return antennaCountsByFrequency;
+	}
+
+	/**
+	 * @return the bitset of the antinodes of 1 frequency, on the full lines of its antennas
+	 */
+	private long[] setFullLineAntinodes(final int[] antennaCells) {
+		final long[] antinodes = newGridBitset();
+		// the reduced directions seen from the current antenna, only the set words are cleared for the next antenna
+		final long[] seenDirections = new long[Math.ceilDiv(height * (2 * width - 1), Long.SIZE)];
+		final int[] setWords = new int[antennaCells.length];
+		for (int i = 0; i < antennaCells.length - 1; i++) {
+			int setWordCount = 0;
+			for (int j = 0; j < antennaCells.length; j++) {
+				if (j == i) {
+					continue;
+				}
+				final int dx = antennaCells[j] % width - antennaCells[i] % width;
+				final int dy = antennaCells[j] / width - antennaCells[i] / width;
+				final int gcd = gcd(Math.abs(dx), Math.abs(dy));
+				final int direction = direction(dx / gcd, dy / gcd);
+				final int word = direction >>> 6;
+				if ((seenDirections[word] & (1L << direction)) != 0) {
+					continue;
+				}
+				if (seenDirections[word] == 0) {
+					setWords[setWordCount++] = word;
+				}
+				seenDirections[word] |= 1L << direction;
+				if (j > i) { // to an earlier antenna the line was already set from that antenna
+					setFullLine(antinodes, antennaCells[i] % width, antennaCells[i] / width, dx / gcd, dy / gcd);
+				}
+			}
+			for (int k = 0; k < setWordCount; k++) {
+				seenDirections[setWords[k]] = 0;
+			}
+		}
+		return antinodes;
+	}
+
+	/**
+	 * Sets every cell of the line through (x, y) by the step (stepX, stepY), in both directions, from edge to edge.
+	 */
+	private void setFullLine(final long[] antinodes, final int x, final int y, final int stepX, final int stepY) {
+		final int firstStep = Math.max(firstStepOnTheMap(x, stepX, width), firstStepOnTheMap(y, stepY, height));
+		final int lastStep = Math.min(lastStepOnTheMap(x, stepX, width), lastStepOnTheMap(y, stepY, height));
+		final int cellStep = stepY * width + stepX;
+		for (int step = firstStep, cell = cell(x + firstStep * stepX, y + firstStep * stepY); step <= lastStep; step++, cell += cellStep) {
+			set(antinodes, cell);
+		}
+	}
+
+	/**
+	 * @return the smallest k where position + k * step is still between 0 and 'length' (exclusive), on 1 axis
+	 */
+	private static int firstStepOnTheMap(final int position, final int step, final int length) {
+		if (step == 0) {
+			return Integer.MIN_VALUE;
+		}
+		return step > 0 ? -Math.floorDiv(position, step) : -Math.floorDiv(length - 1 - position, -step);
+	}
+
+	/**
+	 * @return the biggest k where position + k * step is still between 0 and 'length' (exclusive), on 1 axis
+	 */
+	private static int lastStepOnTheMap(final int position, final int step, final int length) {
+		if (step == 0) {
+			return Integer.MAX_VALUE;
+		}
+		return step > 0 ? Math.floorDiv(length - 1 - position, step) : Math.floorDiv(position, -step);
+	}
+
+	/**
+	 * @return the index of the reduced direction, the same for the opposite direction (the same line)
+	 */
+	private int direction(final int stepX, final int stepY) {
+		final boolean isOpposite = stepY < 0 || stepY == 0 && stepX < 0;
+		final int x = isOpposite ? -stepX : stepX;
+		final int y = isOpposite ? -stepY : stepY;
+		return y * (2 * width - 1) + x + width - 1;
+	}
+
+	/**
+	 * Sets the cells from (x, y) (inclusive) step by step until the edge of the map.
+	 */
+	private void setLineUntilTheEdge(final long[] antinodes, final int x, final int y, final int dx, final int dy, final AntinodeObserver antinodeObserver) {
+		for (int lineX = x, lineY = y; isOnTheMap(lineX, lineY); lineX += dx, lineY += dy) {
+			set(antinodes, cell(lineX, lineY));
+			antinodeObserver.antinodeFound(cell(lineX, lineY));
+		}
+	}
+
+	private void setIfOnTheMap(final long[] antinodes, final int x, final int y, final AntinodeObserver antinodeObserver) {
+		if (isOnTheMap(x, y)) {
+			set(antinodes, cell(x, y));
+			antinodeObserver.antinodeFound(cell(x, y));
+		}
+	}
+
+	private boolean isOnTheMap(final int x, final int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	private long[] newGridBitset() {
+		return new long[Math.ceilDiv(width * height, Long.SIZE)];
+	}
+
+	private int cell(final int x, final int y) {
+		return y * width + x;
+	}
+
+	private static void set(final long[] bitset, final int bit) {
+		bitset[bit >>> 6] |= 1L << bit;
+	}
+
+	private static int gcd(final int a, final int b) {
+		return b == 0 ? a : gcd(b, a % b);
+	}
+
+	/**
+	 * @return the 1st bitset, with the bits of the 2nd one set in it too
+	 */
+	private static long[] or(final long[] bitset, final long[] otherBitset) {
+		for (int i = 0; i < bitset.length; i++) {
+			bitset[i] |= otherBitset[i];
+		}
+		return bitset;
+	}
+
+	private static long countSetBits(final long[] bitset) {
+		long count = 0;
+		for (final long word : bitset) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+}
@@ -0,0 +1,46 @@
+package org.adventofcode.day08;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.io.PrintStream;
+
+/**
+ * Draws the antinodes onto a char copy of the map with a '#'. When there is an antenna on the cell of an antinode, the
+ * antinode is not drawn, only the antenna is there.
+ * It is only for debugging, it is slow on a big map.
+ */
+public final class AntinodeMapRenderer implements AntinodeObserver {
+
+	private static final char CHAR_EMPTY = '.';
+	private static final char CHAR_ANTINODE = '#';
+
+	private final char[][] mapCharTable;
+	private final int width;
+	private final PrintStream printStream;
+
+	public AntinodeMapRenderer(final PuzzleInput input, final PrintStream printStream) {
+		mapCharTable = new char[input.lineCount()][input.maxLineLength()];
+		for (int y = 0; y < input.lineCount(); y++) {
+			for (int x = 0; x < input.lineLength(y); x++) {
+				mapCharTable[y][x] = (char) input.byteAt(y, x);
+			}
+		}
+		width = input.maxLineLength();
+		this.printStream = printStream;
+	}
+
+	@Override
+	public void antinodeFound(final int cell) {
+		if (mapCharTable[cell / width][cell % width] == CHAR_EMPTY) {
+			mapCharTable[cell / width][cell % width] = CHAR_ANTINODE;
+		}
+	}
+
+	public void printMap() {
+		final StringBuilder frame = new StringBuilder(mapCharTable.length * (width + 1) + 1);
+		for (final char[] row : mapCharTable) {
+			frame.append(row).append(System.lineSeparator());
+		}
+		printStream.println(frame);
+	}
+}
@@ -0,0 +1,16 @@
+package org.adventofcode.day08;
+
+/**
+ * Gets the antinodes while {@link AntennaGrid} sets them, for example to draw them (see {@link AntinodeMapRenderer}).
+ * The count doesn't need it, it has its own bitset, so the measured runs use {@link #NONE}.
+ * The cells are y * width + x, and a cell can be got more times (from more pairs of antennas).
+ */
+public interface AntinodeObserver {
+
+	AntinodeObserver NONE = new AntinodeObserver() {};
+
+	/**
+	 * There is an antinode on the cell.
+	 */
+	default void antinodeFound(final int cell) {}
+}
@@ -0,0 +1,31 @@
+package org.adventofcode.day08;
+
+import org.adventofcode.Solver;
+import org.adventofcode.input.PuzzleInput;
+
+/**
+ * Part 2 on the full lines of the antenna pairs (with the distance vectors reduced by their gcd), the frequencies in
+ * parallel.
+ */
+public class FullLineSolution implements Solver {
+
+	@Override
+	public int day() {
+		return 8;
+	}
+
+	@Override
+	public String variant() {
+		return "full-lines";
+	}
+
+	@Override
+	public long solvePart1(final PuzzleInput input) {
+		return Main.solvePart1(input);
+	}
+
+	@Override
+	public long solvePart2(final PuzzleInput input) {
+		return Main.solvePart2OnFullLines(input);
+	}
+}
@@ -0,0 +1,91 @@
+package org.adventofcode.day09;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Part 1 compaction (the file blocks are moved 1 by 1 from the end of the disk to the leftmost free block) on the runs
+ * of the disk map, without listing the blocks.
+ * <p>
+ * The result of the compaction is known without moving anything: 2 pointers walk the disk map, 1 from the start and 1
+ * from the last file. The left pointer's files stay where they are, and its free spaces are filled by the blocks of
+ * the right pointer's file, as many as fit, then by the next file from the right, and so on, until the 2 pointers
+ * meet. Every run adds to the checksum with the sum of the arithmetic series of its positions, so the cost is the
+ * number of entries of the disk map, not the number of blocks.
+ * <p>
+ * {@link #compact(DiskImage)} is the same walk on the extents of any image, and it writes the runs into a new image
+ * instead of the checksum.
+ */
+@UtilityClass
+public class BlockCompactor {
+
+	/**
+	 * @return the filesystem checksum of the disk after its file blocks are compacted
+	 */
+	public static long compactAndGetChecksum(final DiskMap diskMap) {
+		int right = diskMap.entryCount() - 1;
+		if (!DiskMap.isFile(right)) {
+			right--; // the free space after the last file
+		}
+		int rightRemainingLength = right >= 0 ? diskMap.length(right) : 0; // the blocks of the right file not moved yet
+		long position = 0;
+		long checksum = 0;
+		int left = 0;
+		for (; left < right; left++) {
+			if (DiskMap.isFile(left)) {
+				checksum += DiskMap.checksumOfRun(DiskMap.fileIdOf(left), position, diskMap.length(left));
+				position += diskMap.length(left);
+				continue;
+			}
+			int freeLength = diskMap.length(left);
+			while (freeLength > 0 && left < right) {
+				final int movedLength = Math.min(freeLength, rightRemainingLength);
+				checksum += DiskMap.checksumOfRun(DiskMap.fileIdOf(right), position, movedLength);
+				position += movedLength;
+				freeLength -= movedLength;
+				rightRemainingLength -= movedLength;
+				if (rightRemainingLength == 0) {
+					right -= 2;
+					rightRemainingLength = right > left ? diskMap.length(right) : 0;
+				}
+			}
+		}
+		if (left == right) { // the blocks of the last file the pointers met at, which were not moved
+			checksum += DiskMap.checksumOfRun(DiskMap.fileIdOf(right), position, rightRemainingLength);
+		}
+		return checksum;
+	}
+
+	/**
+	 * @return the image after the file blocks are compacted: the files fill the disk from the start without a gap
+	 */
+	public static DiskImage compact(final DiskImage diskImage) {
+		final DiskImage.Builder compactedDiskImage = new DiskImage.Builder();
+		int right = diskImage.getExtentCount() - 1;
+		int rightRemainingLength = right >= 0 ? diskImage.getLength(right) : 0; // the blocks of the right extent not moved yet
+		int position = 0;
+		int left = 0;
+		while (left < right) {
+			int freeLength = diskImage.getStart(left) - position;
+			while (freeLength > 0 && left < right) {
+				final int movedLength = Math.min(freeLength, rightRemainingLength);
+				compactedDiskImage.add(diskImage.getFileId(right), position, movedLength);
+				position += movedLength;
+				freeLength -= movedLength;
+				rightRemainingLength -= movedLength;
+				if (rightRemainingLength == 0) {
+					right--;
+					rightRemainingLength = diskImage.getLength(right);
+				}
+			}
+			if (left < right) {
+				compactedDiskImage.add(diskImage.getFileId(left), position, diskImage.getLength(left));
+				position += diskImage.getLength(left);
+				left++;
+			}
+		}
+		if (left == right) { // the blocks of the last extent the pointers met at, moved to the left if there is free space
+			compactedDiskImage.add(diskImage.getFileId(right), position, rightRemainingLength);
+		}
+		return compactedDiskImage.build();
+	}
+}
@@ -0,0 +1,29 @@
+package org.adventofcode.day09;
+
+/**
+ * The compactions of the puzzle (part 1 and part 2), and a best-fit one which leaves fewer small free spans.
+ */
+public enum BuiltInCompactionStrategy implements CompactionStrategy {
+
+	/**
+	 * Part 1: the last file block is moved to the leftmost free block, 1 block at a time, so the files are split up.
+	 */
+	BLOCKS,
+	/**
+	 * Part 2: every file is moved once, whole, to the leftmost free span before it where it fits.
+	 */
+	WHOLE_FILES,
+	/**
+	 * Like {@link #WHOLE_FILES}, but to the shortest free span before it where it fits.
+	 */
+	BEST_FIT;
+
+	@Override
+	public DiskImage compact(final DiskImage diskImage) {
+		return switch (this) {
+			case BLOCKS -> BlockCompactor.compact(diskImage);
+			case WHOLE_FILES -> WholeFileCompactor.compact(diskImage, false);
+			case BEST_FIT -> WholeFileCompactor.compact(diskImage, true);
+		};
+	}
+}
@@ -0,0 +1,13 @@
+package org.adventofcode.day09;
+
+/**
+ * How the files are moved to the left on the disk, to make the free space contiguous at the end. The built-in ones
+ * are in {@link BuiltInCompactionStrategy}.
+ */
+public interface CompactionStrategy {
+
+	/**
+	 * @return the new image after the compaction (the given image is not changed)
+	 */
+	DiskImage compact(DiskImage diskImage);
+}
@@ -0,0 +1,191 @@
+package org.adventofcode.day09;
+
+import java.util.Arrays;
+
+/**
+ * The layout of the files on the disk as extents (runs of blocks of the same file), in 3 parallel int arrays: the
+ * start, the length and the file ID of every extent, sorted by the start. The free space is not stored, it is the gaps
+ * between the extents. So an extent costs 12 bytes however long it is, and the blocks are never listed.
+ * <p>
+ * An image is not changed after it is made: a {@link CompactionStrategy} makes a new image. The checksum and the
+ * fragmentation metrics are calculated on the arrays in 1 pass.
+ */
+public final class DiskImage {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int[] starts;
+	private final int[] lengths;
+	private final int[] fileIds;
+
+	/**
+	 * The arrays are not copied, they are owned by the image from now on.
+	 */
+	DiskImage(final int[] starts, final int[] lengths, final int[] fileIds) {
+		this.starts = starts;
+		this.lengths = lengths;
+		this.fileIds = fileIds;
+	}
+
+	/**
+	 * @return the layout of the disk map: 1 extent per file (the files with 0 length too), in the order of the file IDs
+	 */
+	public static DiskImage of(final DiskMap diskMap) {
+		final int fileCount = Math.ceilDiv(diskMap.entryCount(), 2);
+		final int[] starts = new int[fileCount];
+		final int[] lengths = new int[fileCount];
+		final int[] fileIds = new int[fileCount];
+		long position = 0;
+		for (int entry = 0; entry < diskMap.entryCount(); entry++) {
+			if (DiskMap.isFile(entry)) {
+				final int fileId = DiskMap.fileIdOf(entry);
+				starts[fileId] = (int) position;
+				lengths[fileId] = diskMap.length(entry);
+				fileIds[fileId] = fileId;
+			}
+			position += diskMap.length(entry);
+		}
+		if (position > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The disk has too many blocks for int positions: " + position);
+		}
+		return new DiskImage(starts, lengths, fileIds);
+	}
+
+	public DiskImage compact(final CompactionStrategy compactionStrategy) {
+		return compactionStrategy.compact(this);
+	}
+
+	public int getExtentCount() {
+		return starts.length;
+	}
+
+	public int getStart(final int extent) {
+		return starts[extent];
+	}
+
+	public int getLength(final int extent) {
+		return lengths[extent];
+	}
+
+	public int getFileId(final int extent) {
+		return fileIds[extent];
+	}
+
+	/**
+	 * @return the length of the free space right before the extent (after the previous extent, or from the start of
+	 * the disk)
+	 */
+	public int getFreeLengthBefore(final int extent) {
+		return starts[extent] - (extent == 0 ? 0 : starts[extent - 1] + lengths[extent - 1]);
+	}
+
+	/**
+	 * @return the filesystem checksum: the sum of each block's position multiplied by its file ID, by extents
+	 */
+	public long getChecksum() {
+		long checksum = 0;
+		for (int extent = 0; extent < starts.length; extent++) {
+			checksum += DiskMap.checksumOfRun(fileIds[extent], starts[extent], lengths[extent]);
+		}
+		return checksum;
+	}
+
+	public FragmentationMetrics getFragmentationMetrics() {
+		int maxFileId = -1;
+		for (final int fileId : fileIds) {
+			maxFileId = Math.max(maxFileId, fileId);
+		}
+		final long[] seenFiles = new long[Math.ceilDiv(maxFileId + 1, Long.SIZE)];
+		final long[] fragmentedFiles = new long[seenFiles.length];
+		int fileCount = 0;
+		int fragmentedFileCount = 0;
+		int freeSpanCount = 0;
+		long freeBlockCount = 0;
+		int longestFreeSpanLength = 0;
+		for (int extent = 0; extent < starts.length; extent++) {
+			final int fileId = fileIds[extent];
+			final int word = fileId >>> 6;
+			final long bit = 1L << fileId;
+			if ((seenFiles[word] & bit) == 0) {
+				seenFiles[word] |= bit;
+				fileCount++;
+			} else if ((fragmentedFiles[word] & bit) == 0) {
+				fragmentedFiles[word] |= bit;
+				fragmentedFileCount++;
+			}
+			final int freeLength = getFreeLengthBefore(extent);
+			if (freeLength > 0) {
+				freeSpanCount++;
+				freeBlockCount += freeLength;
+				longestFreeSpanLength = Math.max(longestFreeSpanLength, freeLength);
+			}
+		}
+		return new FragmentationMetrics(fileCount, fragmentedFileCount, starts.length, freeSpanCount, freeBlockCount, longestFreeSpanLength);
+	}
+
+	/**
+	 * @param fragmentedFileCount the files which have more than 1 extent
+	 * @param freeSpanCount the free spans between the extents (the free space after the last extent is not counted)
+	 * @param freeBlockCount the free blocks between the extents
+	 */
+	public record FragmentationMetrics(
+		int fileCount,
+		int fragmentedFileCount,
+		int extentCount,
+		int freeSpanCount,
+		long freeBlockCount,
+		int longestFreeSpanLength
+	) {}
+
+	/**
+	 * Collects the extents of a new image from left to right. An extent which continues the previous extent of the
+	 * same file is merged into it, an empty extent is skipped.
+	 */
+	static final class Builder {
+
+		private int[] starts;
+		private int[] lengths;
+		private int[] fileIds;
+		private int extentCount;
+
+		Builder() {
+			this(INITIAL_CAPACITY);
+		}
+
+		/**
+		 * @param capacity how many extents are expected, so the arrays don't have to grow
+		 */
+		Builder(final int capacity) {
+			starts = new int[Math.max(capacity, 1)];
+			lengths = new int[starts.length];
+			fileIds = new int[starts.length];
+		}
+
+		Builder add(final int fileId, final int start, final int length) {
+			if (length == 0) {
+				return this;
+			}
+			if (extentCount > 0 && fileIds[extentCount - 1] == fileId && starts[extentCount - 1] + lengths[extentCount - 1] == start) {
+				lengths[extentCount - 1] += length;
+				return this;
+			}
+			if (extentCount == starts.length) {
+				starts = Arrays.copyOf(starts, extentCount * 2);
+				lengths = Arrays.copyOf(lengths, extentCount * 2);
+				fileIds = Arrays.copyOf(fileIds, extentCount * 2);
+			}
+			starts[extentCount] = start;
+			lengths[extentCount] = length;
+			fileIds[extentCount] = fileId;
+			extentCount++;
+			return this;
+		}
+
+		DiskImage build() {
+			if (extentCount == starts.length) {
+				return new DiskImage(starts, lengths, fileIds);
+			}
+			return new DiskImage(Arrays.copyOf(starts, extentCount), Arrays.copyOf(lengths, extentCount), Arrays.copyOf(fileIds, extentCount));
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package org.adventofcode.day09;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.util.Arrays;
+
+/**
+ * The dense "disk map" of the input: 1 digit per entry, alternating between the length of a file and the length of the
+ * free space after it. The file of the entry 2 * k has the ID k.
+ * <p>
+ * Only the digits are kept, 1 byte per entry (the line breaks are skipped), the blocks of the disk are never listed one
+ * by one: a file or a free space is always handled as a run of blocks (an extent).
+ */
+public final class DiskMap {
+
+	private final byte[] lengths;
+
+	private DiskMap(final byte[] lengths) {
+		this.lengths = lengths;
+	}
+
+	public static DiskMap read(final PuzzleInput input) {
+		final byte[] lengths = new byte[input.length()];
+		int entryCount = 0;
+		for (int i = 0; i < input.length(); i++) {
+			final byte b = input.byteAt(i);
+			if (b >= '0' && b <= '9') {
+				lengths[entryCount++] = (byte) (b - '0');
+			}
+		}
+		return new DiskMap(entryCount == lengths.length ? lengths : Arrays.copyOf(lengths, entryCount));
+	}
+
+	public int entryCount() {
+		return lengths.length;
+	}
+
+	/**
+	 * @return the length of the file (for an even entry) or the free space (for an odd entry)
+	 */
+	public int length(final int entry) {
+		return lengths[entry];
+	}
+
+	public static boolean isFile(final int entry) {
+		return entry % 2 == 0;
+	}
+
+	public static int fileIdOf(final int entry) {
+		return entry / 2;
+	}
+
+	/**
+	 * The checksum of a run of blocks of the same file: fileId * (position + (position + 1) + ... + (position + length
+	 * - 1)), with the sum of the arithmetic series instead of 1 multiplication per block.
+	 */
+	public static long checksumOfRun(final int fileId, final long position, final long length) {
+		return fileId * (length * position + length * (length - 1) / 2);
+	}
+}
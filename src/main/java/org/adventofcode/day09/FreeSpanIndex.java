@@ -0,0 +1,124 @@
+package org.adventofcode.day09;
+
+import java.util.Arrays;
+
+/**
+ * The free spans of the disk by their length: 1 min-heap of span keys for each length from 1 to the longest span. A
+ * span's key is anything which is in the same order as the positions of the spans (for example its start, or its index
+ * among the spans of the disk), so the leftmost span where a file fits is the smallest top of the heaps of the lengths
+ * which are at least the file's length: it is found with 1 peek per length and taken with 1 poll, O(log n), not a scan
+ * of the disk.
+ * <p>
+ * A span only gets shorter when a file is moved into it: it goes into the heap of the shorter length with the same key.
+ * The disk map has 1 digit per free space, so for a disk which is read from a disk map the longest span is 9.
+ */
+public final class FreeSpanIndex {
+
+	public static final int NO_SPAN = -1;
+	private static final int INITIAL_HEAP_CAPACITY = 16;
+
+	private final int maxSpanLength;
+	private final int[][] heaps; // by the length of the spans, [0] is not used, a heap is made when it is first needed
+	private final int[] heapSizes;
+
+	/**
+	 * @param spanCountsByLength how many spans of each length will be added (the longest span is the last length), so
+	 * the heaps are made with the right capacity and don't grow while the spans are added. A heap only grows later, if
+	 * it gets the rest of longer spans.
+	 */
+	public FreeSpanIndex(final int[] spanCountsByLength) {
+		maxSpanLength = spanCountsByLength.length - 1;
+		heaps = new int[maxSpanLength + 1][];
+		heapSizes = new int[maxSpanLength + 1];
+		for (int length = 1; length <= maxSpanLength; length++) {
+			if (spanCountsByLength[length] > 0) {
+				heaps[length] = new int[spanCountsByLength[length]];
+			}
+		}
+	}
+
+	/**
+	 * Adds a free span. An empty span is ignored. If the spans are added from left to right, an add is O(1).
+	 */
+	public void add(final int key, final int length) {
+		if (length < 0 || length > maxSpanLength) {
+			throw new IllegalArgumentException("The length of a free span has to be between 0 and " + maxSpanLength + ", but it is " + length);
+		}
+		if (length == 0) {
+			return;
+		}
+		if (heaps[length] == null) {
+			heaps[length] = new int[INITIAL_HEAP_CAPACITY];
+		} else if (heapSizes[length] == heaps[length].length) {
+			heaps[length] = Arrays.copyOf(heaps[length], Math.max(heapSizes[length] * 2, INITIAL_HEAP_CAPACITY));
+		}
+		final int[] heap = heaps[length];
+		int i = heapSizes[length]++;
+		while (i > 0 && heap[(i - 1) / 2] > key) { // sift up
+			heap[i] = heap[(i - 1) / 2];
+			i = (i - 1) / 2;
+		}
+		heap[i] = key;
+	}
+
+	/**
+	 * Takes 'length' blocks of the leftmost free span which is at least 'length' long and is before 'beforeKey'. The
+	 * rest of the span stays free (as a shorter span).
+	 *
+	 * @return the key of the span, or {@link #NO_SPAN} if there is no such span
+	 */
+	public int takeFirstFit(final int length, final int beforeKey) {
+		int spanLength = NO_SPAN;
+		int spanKey = beforeKey;
+		for (int candidateLength = Math.max(length, 1); candidateLength <= maxSpanLength; candidateLength++) {
+			if (heapSizes[candidateLength] > 0 && heaps[candidateLength][0] < spanKey) {
+				spanKey = heaps[candidateLength][0];
+				spanLength = candidateLength;
+			}
+		}
+		return take(spanKey, spanLength, length);
+	}
+
+	/**
+	 * Takes 'length' blocks of the shortest free span which is at least 'length' long and is before 'beforeKey' (the
+	 * leftmost one if there are more of them), so the longer spans are kept for the longer files.
+	 *
+	 * @return the key of the span, or {@link #NO_SPAN} if there is no such span
+	 */
+	public int takeBestFit(final int length, final int beforeKey) {
+		for (int candidateLength = Math.max(length, 1); candidateLength <= maxSpanLength; candidateLength++) {
+			if (heapSizes[candidateLength] > 0 && heaps[candidateLength][0] < beforeKey) {
+				return take(heaps[candidateLength][0], candidateLength, length);
+			}
+		}
+		return NO_SPAN;
+	}
+
+	private int take(final int spanKey, final int spanLength, final int length) {
+		if (spanLength == NO_SPAN) {
+			return NO_SPAN;
+		}
+		pollFirst(spanLength);
+		add(spanKey, spanLength - length);
+		return spanKey;
+	}
+
+	private void pollFirst(final int length) {
+		final int[] heap = heaps[length];
+		final int size = --heapSizes[length];
+		final int last = heap[size];
+		int i = 0;
+		while (2 * i + 1 < size) { // sift down the last key from the top
+			int child = 2 * i + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (heap[child] >= last) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+	}
+}
@@ -0,0 +1,108 @@
+package org.adventofcode.day09;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Part 2 compaction (every file is moved once, whole, from the last file to the first, to the leftmost free span
+ * before it where it fits) on the extents of a {@link DiskImage}. A move only changes the start of the file, nothing is
+ * inserted or shifted.
+ * <p>
+ * The free spans are the gaps before the extents, so the index of the extent after a span is its key in the
+ * {@link FreeSpanIndex}: the compaction is O(n log n) for n files. The space a file leaves behind is not added to the
+ * index: every file which is moved after it is on its left, and files only move to the left.
+ * <p>
+ * The files moved into a span are placed in it from left to right, so in the new image the extents of a span are the
+ * files moved into it (in the order of their moves) and then the extent after the span (if it was not moved). So the
+ * index of every extent in the new image is counted, no sort is needed: the moves only remember the span of every
+ * moved file and count the files of every span, the counts are summed up into the first index of each span's extents,
+ * and the moves are walked again in the same order, writing the new image. So besides the 2 images only 2 ints per
+ * extent are used.
+ */
+@UtilityClass
+public class WholeFileCompactor {
+
+	/**
+	 * @param isBestFit if a file is moved to the shortest free span where it fits (the leftmost one if there are more
+	 * of them), not to the leftmost free span
+	 * @return the image after the files are compacted
+	 */
+	public static DiskImage compact(final DiskImage diskImage, final boolean isBestFit) {
+		final int extentCount = diskImage.getExtentCount();
+		int maxFreeLength = 0;
+		int nonEmptyExtentCount = 0;
+		for (int extent = 0; extent < extentCount; extent++) {
+			if (extent > 0 && diskImage.getFileId(extent) <= diskImage.getFileId(extent - 1)) {
+				throw new IllegalArgumentException("The whole files can only be moved if every file has 1 extent, in the order of the file IDs (like on a disk map), but the file "
+					+ diskImage.getFileId(extent) + " comes after the file " + diskImage.getFileId(extent - 1));
+			}
+			maxFreeLength = Math.max(maxFreeLength, diskImage.getFreeLengthBefore(extent));
+			if (diskImage.getLength(extent) > 0) {
+				nonEmptyExtentCount++;
+			}
+		}
+		final int[] spanCountsByLength = new int[maxFreeLength + 1];
+		for (int extent = 0; extent < extentCount; extent++) {
+			spanCountsByLength[diskImage.getFreeLengthBefore(extent)]++;
+		}
+		final FreeSpanIndex freeSpanIndex = new FreeSpanIndex(spanCountsByLength);
+		for (int extent = 0; extent < extentCount; extent++) {
+			freeSpanIndex.add(extent, diskImage.getFreeLengthBefore(extent));
+		}
+
+		final int[] spansOfMoves = new int[extentCount]; // by extent: the key of the span it is moved into, or NO_SPAN
+		final int[] bySpan = new int[extentCount]; // by the key of the span: the count of the moved files, then the next index
+		for (int extent = extentCount - 1; extent >= 0; extent--) {
+			final int length = diskImage.getLength(extent);
+			// the span right before the extent is the last one on its left
+			final int span = length == 0 ? FreeSpanIndex.NO_SPAN
+				: isBestFit ? freeSpanIndex.takeBestFit(length, extent + 1) : freeSpanIndex.takeFirstFit(length, extent + 1);
+			spansOfMoves[extent] = span;
+			if (span != FreeSpanIndex.NO_SPAN) {
+				bySpan[span]++;
+			}
+		}
+		// the index of the first extent of each span in the new image
+		int nextIndex = 0;
+		for (int extent = 0; extent < extentCount; extent++) {
+			final int movedCount = bySpan[extent];
+			bySpan[extent] = nextIndex;
+			nextIndex += movedCount + (isStaying(diskImage, spansOfMoves, extent) ? 1 : 0);
+		}
+
+		final int[] starts = new int[nonEmptyExtentCount];
+		final int[] lengths = new int[nonEmptyExtentCount];
+		final int[] fileIds = new int[nonEmptyExtentCount];
+		for (int extent = extentCount - 1; extent >= 0; extent--) { // in the order of the moves
+			final int span = spansOfMoves[extent];
+			if (span == FreeSpanIndex.NO_SPAN) {
+				continue;
+			}
+			final int index = bySpan[span]++;
+			/*
+			The file goes right after the file moved into the span before it, which is the extent before it in the new
+			image. If it is the first file of the span, the extent before it is of an earlier span (or not written yet,
+			0 long at 0), which ends before the span, so it goes to the start of the span.
+			 */
+			final int spanStart = diskImage.getStart(span) - diskImage.getFreeLengthBefore(span);
+			starts[index] = index == 0 ? spanStart : Math.max(spanStart, starts[index - 1] + lengths[index - 1]);
+			lengths[index] = diskImage.getLength(extent);
+			fileIds[index] = diskImage.getFileId(extent);
+		}
+		for (int extent = 0; extent < extentCount; extent++) {
+			if (isStaying(diskImage, spansOfMoves, extent)) {
+				final int index = bySpan[extent]; // after the files moved into the span before it
+				starts[index] = diskImage.getStart(extent);
+				lengths[index] = diskImage.getLength(extent);
+				fileIds[index] = diskImage.getFileId(extent);
+			}
+		}
+		return new DiskImage(starts, lengths, fileIds);
+	}
+
+	/**
+	 * @return if the extent is in the new image at its old start: it is not empty, and it was not moved
+	 */
+	private static boolean isStaying(final DiskImage diskImage, final int[] spansOfMoves, final int extent) {
+		return diskImage.getLength(extent) > 0 && spansOfMoves[extent] == FreeSpanIndex.NO_SPAN;
+	}
+}
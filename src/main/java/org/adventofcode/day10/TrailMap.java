@@ -0,0 +1,179 @@
+package org.adventofcode.day10;
+
+import org.adventofcode.input.PuzzleInput;
+
+import java.util.Arrays;
+
+/**
+ * The topographic map on int cell indexes (y * width + x), with every trailhead answered in 1 sweep over the heights
+ * from 9 down to 0, instead of 1 graph search per trailhead.
+ * <p>
+ * A trail goes up by exactly 1 in every step, so the cells of height h only depend on their neighbours of height h + 1.
+ * The cells are sorted by their height (with a counting sort), and each height is done after the height above it:
+ * <ul>
+ * <li>rating (part 2): the number of trails from the cell to any 9, in a long grid: 1 for a 9, and the sum of the
+ * ratings of the neighbours 1 higher for the other cells</li>
+ * <li>score (part 1): the set of the 9s reachable from the cell, the union of the sets of the neighbours 1 higher</li>
+ * </ul>
+ * A trail from height h has 9 - h steps, so a 9 reachable from a cell is at most 9 steps away from it. So the set of a
+ * cell is not a bitset of every 9 of the map (that would be cells * 9s bits), it is a bitset of the 19 * 19 window
+ * around the cell (6 longs), where a bit is a 9 relative to the cell. The set of a neighbour is moved into the window of
+ * the cell with a shift of the bits (by 1 for a horizontal neighbour, by a window row for a vertical one). Only the
+ * sets of 2 heights are kept at the same time, so the memory is 48 bytes for each cell of the biggest height level.
+ * The sweep is O(cells) for any number of trailheads and 9s.
+ */
+public final class TrailMap {
+
+	private static final int NO_HEIGHT = -1;
+	private static final int MAX_HEIGHT = 9;
+	private static final int WINDOW_SIZE = 2 * MAX_HEIGHT + 1;
+	private static final int WINDOW_CENTER_BIT = MAX_HEIGHT * WINDOW_SIZE + MAX_HEIGHT;
+	private static final int WORDS_PER_WINDOW = Math.ceilDiv(WINDOW_SIZE * WINDOW_SIZE, Long.SIZE);
+
+	private final int width;
+	private final int height;
+	private final byte[] heights; // by cell, NO_HEIGHT for the cells which are not a digit
+	private final int[] cellsByHeight; // the cells sorted by their height
+	private final int[] heightStarts; // the index of the first cell of each height in 'cellsByHeight' (and the end)
+
+	public TrailMap(final PuzzleInput input) {
+		height = input.lineCount();
+		width = input.maxLineLength();
+		heights = new byte[width * height];
+		Arrays.fill(heights, (byte) NO_HEIGHT);
+		final int[] cellCountsByHeight = new int[MAX_HEIGHT + 1];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < input.lineLength(y); x++) {
+				final byte c = input.byteAt(y, x);
+				if (c >= '0' && c <= '0' + MAX_HEIGHT) {
+					heights[cell(x, y)] = (byte) (c - '0');
+					cellCountsByHeight[c - '0']++;
+				}
+			}
+		}
+		heightStarts = new int[MAX_HEIGHT + 2];
+		for (int h = 0; h <= MAX_HEIGHT; h++) {
+			heightStarts[h + 1] = heightStarts[h] + cellCountsByHeight[h];
+		}
+		cellsByHeight = new int[heightStarts[MAX_HEIGHT + 1]];
+		final int[] nextIndexes = Arrays.copyOf(heightStarts, MAX_HEIGHT + 1);
+		for (int cell = 0; cell < heights.length; cell++) {
+			if (heights[cell] != NO_HEIGHT) {
+				cellsByHeight[nextIndexes[heights[cell]]++] = cell;
+			}
+		}
+	}
+
+	/**
+	 * @return the sum of the scores of the trailheads: for each 0, the number of 9s reachable from it by a trail
+	 */
+	public long sumOfTrailheadScores() {
+		int maxCellCountOfAHeight = 0;
+		for (int h = 0; h <= MAX_HEIGHT; h++) {
+			maxCellCountOfAHeight = Math.max(maxCellCountOfAHeight, cellCount(h));
+		}
+		// the index of the cell among the cells of its height, so the sets of a height can be in a dense array
+		final int[] indexesInHeight = new int[heights.length];
+		long[] higherReachableNines = new long[maxCellCountOfAHeight * WORDS_PER_WINDOW];
+		long[] reachableNines = new long[maxCellCountOfAHeight * WORDS_PER_WINDOW];
+		for (int h = MAX_HEIGHT; h >= 0; h--) {
+			Arrays.fill(reachableNines, 0, cellCount(h) * WORDS_PER_WINDOW, 0);
+			for (int i = 0; i < cellCount(h); i++) {
+				final int cell = cellsByHeight[heightStarts[h] + i];
+				indexesInHeight[cell] = i;
+				final int offset = i * WORDS_PER_WINDOW;
+				if (h == MAX_HEIGHT) {
+					reachableNines[offset + (WINDOW_CENTER_BIT >>> 6)] = 1L << WINDOW_CENTER_BIT;
+					continue;
+				}
+				final int x = cell % width;
+				final int y = cell / width;
+				// the neighbour's 9s are 1 step further from the cell, in the direction of the neighbour
+				if (y > 0 && heights[cell - width] == h + 1) {
+					shiftOr(reachableNines, offset, higherReachableNines, indexesInHeight[cell - width] * WORDS_PER_WINDOW, -WINDOW_SIZE);
+				}
+				if (x < width - 1 && heights[cell + 1] == h + 1) {
+					shiftOr(reachableNines, offset, higherReachableNines, indexesInHeight[cell + 1] * WORDS_PER_WINDOW, 1);
+				}
+				if (y < height - 1 && heights[cell + width] == h + 1) {
+					shiftOr(reachableNines, offset, higherReachableNines, indexesInHeight[cell + width] * WORDS_PER_WINDOW, WINDOW_SIZE);
+				}
+				if (x > 0 && heights[cell - 1] == h + 1) {
+					shiftOr(reachableNines, offset, higherReachableNines, indexesInHeight[cell - 1] * WORDS_PER_WINDOW, -1);
+				}
+			}
+			final long[] swapped = higherReachableNines;
+			higherReachableNines = reachableNines;
+			reachableNines = swapped;
+		}
+		long sumOfScores = 0;
+		for (int i = 0; i < cellCount(0) * WORDS_PER_WINDOW; i++) {
+			sumOfScores += Long.bitCount(higherReachableNines[i]); // the sets of the 0s, after the last swap
+		}
+		return sumOfScores;
+	}
+
+	/**
+	 * @return the sum of the ratings of the trailheads: for each 0, the number of different trails from it to any 9
+	 */
+	public long sumOfTrailheadRatings() {
+		final long[] ratings = new long[heights.length];
+		for (int h = MAX_HEIGHT; h >= 0; h--) {
+			for (int i = heightStarts[h]; i < heightStarts[h + 1]; i++) {
+				final int cell = cellsByHeight[i];
+				if (h == MAX_HEIGHT) {
+					ratings[cell] = 1;
+					continue;
+				}
+				final int x = cell % width;
+				final int y = cell / width;
+				long rating = 0;
+				if (y > 0 && heights[cell - width] == h + 1) {
+					rating += ratings[cell - width];
+				}
+				if (x < width - 1 && heights[cell + 1] == h + 1) {
+					rating += ratings[cell + 1];
+				}
+				if (y < height - 1 && heights[cell + width] == h + 1) {
+					rating += ratings[cell + width];
+				}
+				if (x > 0 && heights[cell - 1] == h + 1) {
+					rating += ratings[cell - 1];
+				}
+				ratings[cell] = rating;
+			}
+		}
+		long sumOfRatings = 0;
+		for (int i = heightStarts[0]; i < heightStarts[1]; i++) {
+			sumOfRatings += ratings[cellsByHeight[i]];
+		}
+		return sumOfRatings;
+	}
+
+	private int cellCount(final int h) {
+		return heightStarts[h + 1] - heightStarts[h];
+	}
+
+	private int cell(final int x, final int y) {
+		return y * width + x;
+	}
+
+	/**
+	 * target window |= source window shifted by 'shift' bits (to the higher bits if it is positive). The shift is less
+	 * than 64, so a word only gets bits from the source word at the same index and the 1 next to it.
+	 */
+	private static void shiftOr(final long[] target, final int targetOffset, final long[] source, final int sourceOffset, final int shift) {
+		if (shift > 0) {
+			for (int i = WORDS_PER_WINDOW - 1; i > 0; i--) {
+				target[targetOffset + i] |= source[sourceOffset + i] << shift | source[sourceOffset + i - 1] >>> (Long.SIZE - shift);
+			}
+			target[targetOffset] |= source[sourceOffset] << shift;
+		} else {
+			final int rightShift = -shift;
+			for (int i = 0; i < WORDS_PER_WINDOW - 1; i++) {
+				target[targetOffset + i] |= source[sourceOffset + i] >>> rightShift | source[sourceOffset + i + 1] << (Long.SIZE - rightShift);
+			}
+			target[targetOffset + WORDS_PER_WINDOW - 1] |= source[sourceOffset + WORDS_PER_WINDOW - 1] >>> rightShift;
+		}
+	}
+}
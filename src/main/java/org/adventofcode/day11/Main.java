@@ -1,13 +1,11 @@
 package org.adventofcode.day11;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.NumberScanner;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,36 +14,33 @@ import java.util.Map;
 @UtilityClass
 public class Main {
 
+	private static final int BLINK_COUNT_PART1 = 25;
+	private static final int BLINK_COUNT_PART2 = 75;
+
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
-
-		final long start = System.currentTimeMillis();
-		// convert it into a List of String and Long
-		final List<String> stones = new ArrayList<>();
-		final List<Long> stonesPart2 = new ArrayList<>();
-		for (final String line : inputByLines) {
-			stones.addAll(
-				Arrays.stream(line.split(" "))
-					.toList()
-			);
-			stonesPart2.addAll(
-				Arrays.stream(line.split(" "))
-					.map(Long::parseLong)
-					.toList()
-			);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
+
+		System.out.printf("number of stones after blinking %d times = %d%n", BLINK_COUNT_PART1, solvePart1(input));
+		System.out.printf("part2: number of stones after blinking %d times = %d%n", BLINK_COUNT_PART2, solvePart2(input));
+	}
+
+	public static long solvePart1(final PuzzleInput input) {
+		// convert it into a List of String
+		final long[] stoneNumbers = new NumberScanner(input).remainingLongs();
+		final List<String> stones = new ArrayList<>(stoneNumbers.length);
+		for (final long stoneNumber : stoneNumbers) {
+			stones.add(String.valueOf(stoneNumber));
 		}
 
 		// blink 25 times and count how many stones we have in the end considering the 3 rules
-		final int blinkCount = 25;
-		blink(stones, blinkCount);
-		System.out.println("part1 solution runtime in milliseconds = " + (System.currentTimeMillis() - start));
-		System.out.printf("number of stones after blinking %d times = %d", blinkCount, stones.size());
-		System.out.println();
-		System.out.println();
+		blink(stones, BLINK_COUNT_PART1);
+		return stones.size();
+	}
+
+	public static long solvePart2(final PuzzleInput input) {
+		// convert it into an array of long
+		final long[] stonesPart2 = new NumberScanner(input).remainingLongs();
 
 		/*
 		part 2: blink 75 times and count how many stones we have in the end considering the 3 rules
@@ -59,23 +54,17 @@ public class Main {
 		the cache which has every of its leaf node visited. And the cache is checked every time a node needs to go down
 		in the tree.
 		 */
-		final long start2 = System.currentTimeMillis();
 		final Map<StoneNumberBlinkCounterPair, Long> stoneBlinkPairCache = new HashMap<>();
-		final int blinkCountPart2 = 75;
 		long totalLeafStoneCounter = 0;
-		for (final Long stoneNumber : stonesPart2) {
-			final StoneNumberBlinkCounterPair rootNodeStone = new StoneNumberBlinkCounterPair(stoneNumber, blinkCountPart2);
+		for (final long stoneNumber : stonesPart2) {
+			final StoneNumberBlinkCounterPair rootNodeStone = new StoneNumberBlinkCounterPair(stoneNumber, BLINK_COUNT_PART2);
 			totalLeafStoneCounter += blinkForOneStone(rootNodeStone, stoneBlinkPairCache);
 		}
-		System.out.println("part2 solution runtime in milliseconds = " + (System.currentTimeMillis() - start2));
-		System.out.printf("part2: number of stones after blinking %d times = %d", blinkCountPart2, totalLeafStoneCounter);
-		System.out.println();
+		return totalLeafStoneCounter;
 	}
 
 	private static void blink(final List<String> stones, final int blinkCount) {
-		long start;
 		for (int i = 0; i < blinkCount; i++) {
-			start = System.currentTimeMillis();
 			int newStonesCreatedCounter = 0;
 			for (int j = 0; j < stones.size() - newStonesCreatedCounter; j++) {
 				final String stoneString = stones.get(j);
@@ -95,7 +84,7 @@ public class Main {
 					stones.set(j, String.valueOf(stoneNumber * 2024));
 				}
 			}
-			System.out.printf("the %d. blinkCount took %d milliseconds. current amount of stones: %d%s", i, System.currentTimeMillis() - start, stones.size(), System.lineSeparator());
+//			System.out.printf("the %d. blinkCount is done. current amount of stones: %d%s", i, stones.size(), System.lineSeparator());
 //			printStones(stones);
 		}
 	}
@@ -1,11 +1,9 @@
 package org.adventofcode.day12;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -17,27 +15,20 @@ public class Main {
 
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
-
-		final long start = System.currentTimeMillis();
-		// convert it into a char 2 dimension array
-		final char[][] map = new char[inputByLines.size()][];
-		for (int y = 0; y < inputByLines.size(); y++) {
-			final String line = inputByLines.get(y);
-			map[y] = new char[line.length()];
-			for (int x = 0; x < line.length(); x++) {
-				map[y][x] = line.charAt(x);
-			}
-		}
-		final int mapMaxX = map[0].length - 1;
-		final int mapMaxY = map.length - 1;
+		final List<String> inputByLines = PuzzleInput.load(Main.class).lines();
 
 		// remember that I need to flip x and y for array calls
 		System.out.println("map:");
-		printMap(map);
+		printMap(convertToMap(inputByLines));
+
+		System.out.println("totalPriceOfFencingRegions = " + solvePart1(inputByLines));
+		System.out.println("totalPriceOfFencingRegionsWithDiscount = " + solvePart2(inputByLines));
+	}
+
+	public static long solvePart1(final List<String> inputByLines) {
+		final char[][] map = convertToMap(inputByLines);
+		final int mapMaxX = map[0].length - 1;
+		final int mapMaxY = map.length - 1;
 
 		/*
 		garden plot = region = an area in which same type of plants are connected (4-directional neighbors)
@@ -67,9 +58,13 @@ public class Main {
 		for (final Region region : regions) {
 			totalPriceOfFencingRegions += ((long) region.plantPoints().size()) * region.perimeter();
 		}
-		System.out.println("part1 solution runtime in milliseconds = " + (System.currentTimeMillis() - start));
-		System.out.println("totalPriceOfFencingRegions = " + totalPriceOfFencingRegions);
-		System.out.println();
+		return totalPriceOfFencingRegions;
+	}
+
+	public static long solvePart2(final List<String> inputByLines) {
+		final char[][] map = convertToMap(inputByLines);
+		final int mapMaxX = map[0].length - 1;
+		final int mapMaxY = map.length - 1;
 
 		/*
 		part 2: instead of calculating the perimeters, we need to count the sides of the regions
@@ -80,7 +75,6 @@ public class Main {
 		is a different plant in a different region.
 		 */
 		// go over every point and build up a list of regions and calculate their corners (=sides) at the same time
-		final long start2 = System.currentTimeMillis();
 		final Set<Point> visitedPoints2 = new LinkedHashSet<>();
 		final List<RegionWithSides> regionWithSides = new ArrayList<>();
 		for (int y = 0; y < mapMaxY + 1; y++) {
@@ -103,8 +97,20 @@ public class Main {
 		for (final RegionWithSides region : regionWithSides) {
 			totalPriceOfFencingRegionsWithDiscount += ((long) region.plantPoints().size()) * region.sides();
 		}
-		System.out.println("part2 solution runtime in milliseconds = " + (System.currentTimeMillis() - start2));
-		System.out.println("totalPriceOfFencingRegionsWithDiscount = " + totalPriceOfFencingRegionsWithDiscount);
+		return totalPriceOfFencingRegionsWithDiscount;
+	}
+
+	private static char[][] convertToMap(final List<String> inputByLines) {
+		// convert it into a char 2 dimension array
+		final char[][] map = new char[inputByLines.size()][];
+		for (int y = 0; y < inputByLines.size(); y++) {
+			final String line = inputByLines.get(y);
+			map[y] = new char[line.length()];
+			for (int x = 0; x < line.length(); x++) {
+				map[y][x] = line.charAt(x);
+			}
+		}
+		return map;
 	}
 
 	private static void printMap(final char[][] map) {
@@ -1,11 +1,10 @@
 package org.adventofcode.day13;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.NumberScanner;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,25 +14,24 @@ public class Main {
 
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
+
+		System.out.println("fewestTokensToWinEveryWinnableClawMachine = " + solvePart1(input));
+		System.out.println("fewestTokensToWinEveryWinnableClawMachinePart2 = " + solvePart2(input));
+	}
 
-		final long start = System.currentTimeMillis();
+	public static long solvePart1(final PuzzleInput input) {
 		// convert it claw machines
 		final List<ClawMachine> clawMachines = new ArrayList<>();
-		for (int i = 0; i < inputByLines.size(); i += 4) {
-			final String lineButtonA = inputByLines.get(i);
-			final String lineButtonB = inputByLines.get(i + 1);
-			final String linePrize = inputByLines.get(i + 2);
+		final NumberScanner numberScanner = new NumberScanner(input);
+		for (int i = 0; i < input.lineCount(); i += 4) {
 			clawMachines.add(new ClawMachine(
-				convertButtonLine(lineButtonA),
-				convertButtonLine(lineButtonB),
-				convertPrizeLine(linePrize)
+				convertButtonLine(numberScanner.resetToLine(i)),
+				convertButtonLine(numberScanner.resetToLine(i + 1)),
+				convertPrizeLine(numberScanner.resetToLine(i + 2))
 			));
 		}
-		System.out.println("total number of claw machines from input: " + clawMachines.size());
+//		System.out.println("total number of claw machines from input: " + clawMachines.size());
 //		clawMachines.forEach(System.out::println);
 //		System.out.println();
 
@@ -50,9 +48,8 @@ public class Main {
 			return clawMachine.prize().x() > higherX * 100 + lowerX * 100
 				|| clawMachine.prize().y() > higherY * 100 + lowerY * 100;
 		});
-		System.out.println("total number of claw machines after pre-filtering for part1: " + clawMachines.size());
+//		System.out.println("total number of claw machines after pre-filtering for part1: " + clawMachines.size());
 //		clawMachines.forEach(System.out::println);
-		System.out.println();
 
 		// go over the claw machines and find the cheapest way to win the game (pressing button A costs 3, while pressing button B costs only 1 token)
 		final List<ClawMachineWinnable> clawMachinesWinnables = new ArrayList<>();
@@ -64,31 +61,27 @@ public class Main {
 		}
 
 		// count the total tokens needed to win on every claw machine
-		final long fewestTokensToWinEveryWinnableClawMachine = clawMachinesWinnables.stream()
+//		System.out.println("clawMachinesWinnables.size() = " + clawMachinesWinnables.size());
+		return clawMachinesWinnables.stream()
 			.map(ClawMachineWinnable::minimumTokensToWin)
 			.mapToLong(value -> value)
 			.sum();
-		System.out.println("part1 solution runtime in milliseconds = " + (System.currentTimeMillis() - start));
-		System.out.println("clawMachinesWinnables.size() = " + clawMachinesWinnables.size());
-		System.out.println("fewestTokensToWinEveryWinnableClawMachine = " + fewestTokensToWinEveryWinnableClawMachine);
-		System.out.println();
+	}
 
+	public static long solvePart2(final PuzzleInput input) {
 		/*
 		part 2: we have to add "10000000000000" to the prize coordinates'. + there is no more 100 button press limit
 		Turns out my part1 solution cant be used for big numbers (it has to try too much numbers which cant be waited
 		out). For part2, I wrote down a claw machine in a "system of 2 linear equations with two unknown", solved it on
 		paper, generalized it, which gave me the formula for what is "a" and "b" (the button presses).
 		 */
-		final long start2 = System.currentTimeMillis();
 		final List<ClawMachinePart2> clawMachines2 = new ArrayList<>();
-		for (int i = 0; i < inputByLines.size(); i += 4) {
-			final String lineButtonA = inputByLines.get(i);
-			final String lineButtonB = inputByLines.get(i + 1);
-			final String linePrize = inputByLines.get(i + 2);
+		final NumberScanner numberScanner = new NumberScanner(input);
+		for (int i = 0; i < input.lineCount(); i += 4) {
 			clawMachines2.add(new ClawMachinePart2(
-				convertButtonLine(lineButtonA),
-				convertButtonLine(lineButtonB),
-				convertPrizeLinePart2(linePrize)
+				convertButtonLine(numberScanner.resetToLine(i)),
+				convertButtonLine(numberScanner.resetToLine(i + 1)),
+				convertPrizeLinePart2(numberScanner.resetToLine(i + 2))
 			));
 		}
 
@@ -102,13 +95,11 @@ public class Main {
 		}
 
 		// count the total tokens needed to win on every claw machine
-		final long fewestTokensToWinEveryWinnableClawMachinePart2 = clawMachinesPart2Winnables.stream()
+//		System.out.println("clawMachinesPart2Winnables.size() = " + clawMachinesPart2Winnables.size());
+		return clawMachinesPart2Winnables.stream()
 			.map(ClawMachineWinnablePart2::minimumTokensToWin)
 			.mapToLong(value -> value)
 			.sum();
-		System.out.println("part2 solution runtime in milliseconds = " + (System.currentTimeMillis() - start2));
-		System.out.println("clawMachinesPart2Winnables.size() = " + clawMachinesPart2Winnables.size());
-		System.out.println("fewestTokensToWinEveryWinnableClawMachinePart2 = " + fewestTokensToWinEveryWinnableClawMachinePart2);
 	}
 
 	/**
@@ -184,28 +175,25 @@ public class Main {
 		);
 	}
 
-	private static Button convertButtonLine(final String lineButton) {
-		final String[] split = lineButton.split(" ");
-		return new Button(
-			Integer.parseInt(split[2].substring(2, split[2].length() - 1)),
-			Integer.parseInt(split[3].substring(2))
-		);
+	/**
+	 * A button line is like "Button A: X+94, Y+34", the 2 numbers are the x and y.
+	 */
+	private static Button convertButtonLine(final NumberScanner lineNumberScanner) {
+		return new Button(lineNumberScanner.nextInt(), lineNumberScanner.nextInt());
 	}
 
-	private static Prize convertPrizeLine(final String linePrize) {
-		final String[] split = linePrize.split(" ");
-		return new Prize(
-			Integer.parseInt(split[1].substring(2, split[1].length() - 1)),
-			Integer.parseInt(split[2].substring(2))
-		);
+	/**
+	 * A prize line is like "Prize: X=8400, Y=5400", the 2 numbers are the x and y.
+	 */
+	private static Prize convertPrizeLine(final NumberScanner lineNumberScanner) {
+		return new Prize(lineNumberScanner.nextInt(), lineNumberScanner.nextInt());
 	}
 
-	private static PrizePart2 convertPrizeLinePart2(final String linePrize) {
-		final String[] split = linePrize.split(" ");
+	private static PrizePart2 convertPrizeLinePart2(final NumberScanner lineNumberScanner) {
 		final long unitConversionErrorForPart2 = 10000000000000L;
 		return new PrizePart2(
-			Long.parseLong(split[1].substring(2, split[1].length() - 1)) + unitConversionErrorForPart2,
-			Long.parseLong(split[2].substring(2)) + unitConversionErrorForPart2
+			lineNumberScanner.nextLong() + unitConversionErrorForPart2,
+			lineNumberScanner.nextLong() + unitConversionErrorForPart2
 		);
 	}
 
@@ -3,11 +3,10 @@ package org.adventofcode.day14;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.NumberScanner;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -17,28 +16,21 @@ import java.util.Set;
 @UtilityClass
 public class Main {
 
+	private static final int MAP_WIDE = 101;
+	private static final int MAP_TALL = 103;
+
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final PuzzleInput input = PuzzleInput.load(Main.class);
 
-		final long start = System.currentTimeMillis();
-		// convert it to robots
-		int robotIdCounter = 0;
-		final List<Robot> robots = new ArrayList<>();
-		final List<Robot> robotsPart2 = new ArrayList<>();
-		for (final String line : inputByLines) {
-			final Robot robot = convertLineToRobot(line, robotIdCounter);
-			robots.add(robot);
-			robotsPart2.add(Robot.copyOf(robot));
-			robotIdCounter++;
-		}
-		final int mapWide = 101;
-		final int mapTall = 103;
-		final int mapMaxX = mapWide - 1;
-		final int mapMaxY = mapTall - 1;
+		System.out.println("totalSafetyFactor = " + solvePart1(input));
+		System.out.println("secondsCounter = " + solvePart2(input));
+	}
+
+	public static long solvePart1(final PuzzleInput input) {
+		final List<Robot> robots = convertToRobots(input);
+		final int mapMaxX = MAP_WIDE - 1;
+		final int mapMaxY = MAP_TALL - 1;
 
 		/*
 		The robots are moving with their velocity every second, teleporting to the other side if they reach a wall (the
@@ -49,9 +41,8 @@ public class Main {
 				moveRobotOneSecond(robot, mapMaxX, mapMaxY);
 			}
 		}
-		System.out.println("robots after 100 seconds =");
-		robots.forEach(System.out::println);
-		System.out.println();
+//		System.out.println("robots after 100 seconds =");
+//		robots.forEach(System.out::println);
 
 		// calculate how many robots are in the 4 quadrant, without considering the middle row and the middle column
 		final int mapMiddleRow = mapMaxY / 2;
@@ -60,40 +51,48 @@ public class Main {
 		final int robotsInTopRight = countRobotsInQuadrant(robots, mapMiddleColumn + 1, mapMaxX, 0, mapMiddleRow - 1);
 		final int robotsInBottomRight = countRobotsInQuadrant(robots, mapMiddleColumn + 1, mapMaxX, mapMiddleRow + 1, mapMaxY);
 		final int robotsInBottomLeft = countRobotsInQuadrant(robots, 0, mapMiddleColumn - 1, mapMiddleRow + 1, mapMaxY);
-		final long totalSafetyFactor = ((long) robotsInTopLeft) * robotsInTopRight * robotsInBottomRight * robotsInBottomLeft;
-		System.out.println("part1 solution runtime in milliseconds = " + (System.currentTimeMillis() - start));
-		System.out.println("totalSafetyFactor = " + totalSafetyFactor);
+		return ((long) robotsInTopLeft) * robotsInTopRight * robotsInBottomRight * robotsInBottomLeft;
+	}
 
-		// part 2: print them out every second to see when the robots' position themselves into the shape of a Christmas tree
-		final long start2 = System.currentTimeMillis();
+	public static long solvePart2(final PuzzleInput input) {
+		final List<Robot> robotsPart2 = convertToRobots(input);
+		final int mapMaxX = MAP_WIDE - 1;
+		final int mapMaxY = MAP_TALL - 1;
+
+		// part 2: move them every second to see when the robots' position themselves into the shape of a Christmas tree
 		long secondsCounter = 0;
 		while (!isAny9BlockFullOfRobots(robotsPart2, mapMaxX, mapMaxY)) {
-			System.out.println("secondsCounter = " + ++secondsCounter);
+			++secondsCounter;
 			for (final Robot robot : robotsPart2) {
 				moveRobotOneSecond(robot, mapMaxX, mapMaxY);
 			}
-			printRobots(robotsPart2, mapWide, mapTall);
+			// printing the robots is slow so is only here for debug
+//			System.out.println("secondsCounter = " + secondsCounter);
+//			printRobots(robotsPart2, MAP_WIDE, MAP_TALL);
 		}
-		System.out.println("part2 solution runtime in milliseconds = " + (System.currentTimeMillis() - start2));
-		System.out.println("secondsCounter = " + secondsCounter);
+		return secondsCounter;
 	}
 
-	private static Robot convertLineToRobot(final String line, final int robotId) {
-		final String[] lineSplit = line.split(" ");
-		final String positionPart = lineSplit[0];
-		final String[] positionSplit = positionPart.split(",");
-		final String velocityPart = lineSplit[1];
-		final String[] velocitySplit = velocityPart.split(",");
+	private static List<Robot> convertToRobots(final PuzzleInput input) {
+		// convert it to robots
+		int robotIdCounter = 0;
+		final List<Robot> robots = new ArrayList<>(input.lineCount());
+		final NumberScanner numberScanner = new NumberScanner(input);
+		for (int line = 0; line < input.lineCount(); line++) {
+			robots.add(convertLineToRobot(numberScanner.resetToLine(line), robotIdCounter));
+			robotIdCounter++;
+		}
+		return robots;
+	}
+
+	/**
+	 * A line is like "p=0,4 v=3,-3": the position and the velocity are the 4 numbers of the line in this order.
+	 */
+	private static Robot convertLineToRobot(final NumberScanner lineNumberScanner, final int robotId) {
 		return new Robot(
 			robotId,
-			new Position(
-				Integer.parseInt(positionSplit[0].substring(2)),
-				Integer.parseInt(positionSplit[1])
-			),
-			new Velocity(
-				Integer.parseInt(velocitySplit[0].substring(2)),
-				Integer.parseInt(velocitySplit[1])
-			)
+			new Position(lineNumberScanner.nextInt(), lineNumberScanner.nextInt()),
+			new Velocity(lineNumberScanner.nextInt(), lineNumberScanner.nextInt())
 		);
 	}
 
@@ -4,12 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.PuzzleInput;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,37 +29,20 @@ public class Main {
 
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final List<String> inputByLines = PuzzleInput.load(Main.class).lines();
 
-		// split the input to 2, to the map and to the movements
-		final List<String> inputMapLines = new ArrayList<>();
-		final List<String> inputMovementsLines = new ArrayList<>();
-		for (final String inputByLine : inputByLines) {
-			if (StringUtils.isBlank(inputByLine)) {
-				continue;
-			}
-			final char firstCharInLine = inputByLine.charAt(0);
-			if (firstCharInLine == CHAR_WALL) {
-				inputMapLines.add(inputByLine);
-			} else if (List.of(CHAR_ROBOT_MOVEMENT_UP,
-					CHAR_ROBOT_MOVEMENT_RIGHT,
-					CHAR_ROBOT_MOVEMENT_DOWN,
-					CHAR_ROBOT_MOVEMENT_LEFT
-				).contains(firstCharInLine)
-			) {
-				inputMovementsLines.add(inputByLine);
-			}
-		}
+		System.out.println("sumOfBoxGpsCoordinates = " + solvePart1(inputByLines));
+		System.out.println("sumOfBoxGpsCoordinatesPart2 = " + solvePart2(inputByLines));
+	}
+
+	public static long solvePart1(final List<String> inputByLines) {
+		final WarehouseInput warehouseInput = splitInput(inputByLines);
 
-		final long start = System.currentTimeMillis();
 		// convert the map into a char 2 dimension array, and save the position of the robot
 		final Position robotPosition = new Position(0, 0);
-		final char[][] map = new char[inputMapLines.size()][];
-		for (int y = 0; y < inputMapLines.size(); y++) {
-			final String line = inputMapLines.get(y);
+		final char[][] map = new char[warehouseInput.inputMapLines().size()][];
+		for (int y = 0; y < warehouseInput.inputMapLines().size(); y++) {
+			final String line = warehouseInput.inputMapLines().get(y);
 			map[y] = new char[line.length()];
 			for (int x = 0; x < line.length(); x++) {
 				final char currentChar = line.charAt(x);
@@ -73,18 +54,13 @@ public class Main {
 			}
 		}
 
-		// convert the list of moves
-		final List<Direction> moves = new ArrayList<>();
-		for (final String inputMovementsLine : inputMovementsLines) {
-			for (final char move : inputMovementsLine.toCharArray()) {
-				moves.add(Direction.fromChar(move));
-			}
-		}
+		final List<Direction> moves = convertToMoves(warehouseInput.inputMovementsLines());
 
 		// remember that I need to flip x and y for array calls
-		System.out.println("initial map:");
-		printMap(map);
-		System.out.println("moves.size() = " + moves.size());
+		// printing the map is slow so is only here for debug
+//		System.out.println("initial map:");
+//		printMap(map);
+//		System.out.println("moves.size() = " + moves.size());
 
 		/*
 		Iterate over every move and try to apply it to the robot. The robot can push boxes in front of it. The robot can
@@ -96,8 +72,8 @@ public class Main {
 			// printing the map is slow so is only here for debug
 //			printMap(map);
 		}
-		System.out.println("end result map:");
-		printMap(map);
+//		System.out.println("end result map:");
+//		printMap(map);
 		// iterate over the map positions and sum up the boxes' custom GPS coordinates
 		long sumOfBoxGpsCoordinates = 0;
 		for (int y = 0; y < map.length; y++) {
@@ -107,18 +83,21 @@ public class Main {
 				}
 			}
 		}
-		System.out.println("part1 solution runtime in milliseconds = " + (System.currentTimeMillis() - start));
-		System.out.println("sumOfBoxGpsCoordinates = " + sumOfBoxGpsCoordinates);
+		return sumOfBoxGpsCoordinates;
+	}
+
+	public static long solvePart2(final List<String> inputByLines) {
+		final WarehouseInput warehouseInput = splitInput(inputByLines);
+		final List<Direction> moves = convertToMoves(warehouseInput.inputMovementsLines());
 
 		/*
 		part 2: Everything except the robot is twice as wide. Make the wider starting map for part2. Boxes can be
 		aligned that they push 2 other boxes (only possible with up and down directions).
 		 */
-		final long start2 = System.currentTimeMillis();
 		final Position robotPositionPart2 = new Position(0, 0);
-		final char[][] mapPart2 = new char[inputMapLines.size()][];
-		for (int y = 0; y < inputMapLines.size(); y++) {
-			final String line = inputMapLines.get(y);
+		final char[][] mapPart2 = new char[warehouseInput.inputMapLines().size()][];
+		for (int y = 0; y < warehouseInput.inputMapLines().size(); y++) {
+			final String line = warehouseInput.inputMapLines().get(y);
 			mapPart2[y] = new char[line.length() * 2];
 			for (int x = 0; x < line.length(); x++) {
 				final char currentChar = line.charAt(x) == CHAR_BOX ? CHAR_BOX_PART2_LEFT : line.charAt(x);
@@ -136,8 +115,9 @@ public class Main {
 				}
 			}
 		}
-		System.out.println("part2 initial map:");
-		printMap(mapPart2);
+		// printing the map is slow so is only here for debug
+//		System.out.println("part2 initial map:");
+//		printMap(mapPart2);
 
 		for (final Direction move : moves) {
 //			System.out.println(move);
@@ -145,8 +125,8 @@ public class Main {
 			// printing the map is slow so is only here for debug
 //			printMap(mapPart2);
 		}
-		System.out.println("part2 end result map:");
-		printMap(mapPart2);
+//		System.out.println("part2 end result map:");
+//		printMap(mapPart2);
 		// iterate over the map positions and sum up the boxes' custom GPS coordinates
 		long sumOfBoxGpsCoordinatesPart2 = 0;
 		for (int y = 0; y < mapPart2.length; y++) {
@@ -156,8 +136,41 @@ public class Main {
 				}
 			}
 		}
-		System.out.println("part2 solution runtime in milliseconds = " + (System.currentTimeMillis() - start2));
-		System.out.println("sumOfBoxGpsCoordinatesPart2 = " + sumOfBoxGpsCoordinatesPart2);
+		return sumOfBoxGpsCoordinatesPart2;
+	}
+
+	private static WarehouseInput splitInput(final List<String> inputByLines) {
+		// split the input to 2, to the map and to the movements
+		final List<String> inputMapLines = new ArrayList<>();
+		final List<String> inputMovementsLines = new ArrayList<>();
+		for (final String inputByLine : inputByLines) {
+			if (StringUtils.isBlank(inputByLine)) {
+				continue;
+			}
+			final char firstCharInLine = inputByLine.charAt(0);
+			if (firstCharInLine == CHAR_WALL) {
+				inputMapLines.add(inputByLine);
+			} else if (List.of(CHAR_ROBOT_MOVEMENT_UP,
+					CHAR_ROBOT_MOVEMENT_RIGHT,
+					CHAR_ROBOT_MOVEMENT_DOWN,
+					CHAR_ROBOT_MOVEMENT_LEFT
+				).contains(firstCharInLine)
+			) {
+				inputMovementsLines.add(inputByLine);
+			}
+		}
+		return new WarehouseInput(inputMapLines, inputMovementsLines);
+	}
+
+	private static List<Direction> convertToMoves(final List<String> inputMovementsLines) {
+		// convert the list of moves
+		final List<Direction> moves = new ArrayList<>();
+		for (final String inputMovementsLine : inputMovementsLines) {
+			for (final char move : inputMovementsLine.toCharArray()) {
+				moves.add(Direction.fromChar(move));
+			}
+		}
+		return moves;
 	}
 
 	private static void printMap(final char[][] mapCharTable) {
@@ -447,4 +460,6 @@ public class Main {
 		private int x;
 		private int y;
 	}
+
+	private record WarehouseInput(List<String> inputMapLines, List<String> inputMovementsLines) {}
 }
@@ -1,11 +1,9 @@
 package org.adventofcode.day16;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.FileUtils;
+import org.adventofcode.input.PuzzleInput;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -26,64 +24,75 @@ public class Main {
 
 	public static void main(final String[] args) throws IOException {
 		// read the file
-		final List<String> inputByLines = FileUtils.readLines(
-			new File(Main.class.getResource("input.txt").getFile()),
-			StandardCharsets.UTF_8
-		);
+		final List<String> inputByLines = PuzzleInput.load(Main.class).lines();
 
-		final long start = System.currentTimeMillis();
-		// convert it into a char 2 dimension array (the map of the maze)
-		final char[][] map = new char[inputByLines.size()][];
-		Point startPoint = null;
-		Point endPoint = null;
-		for (int y = 0; y < inputByLines.size(); y++) {
-			final String line = inputByLines.get(y);
-			map[y] = new char[line.length()];
-			for (int x = 0; x < line.length(); x++) {
-				final char currentChar = line.charAt(x);
-				map[y][x] = currentChar;
-				if (currentChar == CHAR_START) {
-					startPoint = new Point(x, y);
-				} else if (currentChar == CHAR_END) {
-					endPoint = new Point(x, y);
-				}
-			}
-		}
 		// remember that I need to flip x and y for array calls
 		System.out.println("map:");
-		printMap(map);
+		printMap(convertToMaze(inputByLines).map());
 
+		System.out.println("lowestScorePathScore = " + solvePart1(inputByLines));
+		System.out.println("numberOfPointsThatArePartOfAtLeastOneBestPath = " + solvePart2(inputByLines));
+	}
+
+	public static long solvePart1(final List<String> inputByLines) {
+		final Maze maze = convertToMaze(inputByLines);
 		// get some possible paths which starts from the startPoint and ends at the endPoint
-		final List<Path> paths = findPathsDepthFirstSearch(map, startPoint, Direction.EAST, new ArrayList<>(), 0L, new LinkedHashMap<>(), new ArrayList<>());
+		final List<Path> paths = findPathsDepthFirstSearch(maze.map(), maze.startPoint(), Direction.EAST, new ArrayList<>(), 0L, new LinkedHashMap<>(), new ArrayList<>());
 		// get the Path with the lowest score
 		final Path lowestScorePath = paths.stream()
 			.min(Comparator.comparing(Path::score))
 			.orElseThrow(RuntimeException::new);
-		final long lowestScorePathScore = lowestScorePath.score();
-		System.out.println("path with the lowest score visualized on the map:");
-		printPathOnMap(cloneMap(map), startPoint, endPoint, lowestScorePath);
-		System.out.println("part1 solution runtime in milliseconds = " + (System.currentTimeMillis() - start));
-		System.out.println("found a total of " + paths.size() + " paths");
-		System.out.println("lowestScorePathScore = " + lowestScorePathScore);
-		System.out.println();
+		// printing the map is slow so is only here for debug
+//		System.out.println("path with the lowest score visualized on the map:");
+//		printPathOnMap(cloneMap(maze.map()), maze.startPoint(), maze.endPoint(), lowestScorePath);
+//		System.out.println("found a total of " + paths.size() + " paths");
+		return lowestScorePath.score();
+	}
+
+	public static long solvePart2(final List<String> inputByLines) {
+		final Maze maze = convertToMaze(inputByLines);
+		final List<Path> paths = findPathsDepthFirstSearch(maze.map(), maze.startPoint(), Direction.EAST, new ArrayList<>(), 0L, new LinkedHashMap<>(), new ArrayList<>());
+		final long lowestScorePathScore = paths.stream()
+			.mapToLong(Path::score)
+			.min()
+			.orElseThrow(RuntimeException::new);
 
 		// part 2: Use every "best" path (paths with the lowest score) and sum up how many unique points they have.
-		final long start2 = System.currentTimeMillis();
 		final List<Path> bestPaths = paths.stream()
 			.filter(path -> path.score() == lowestScorePathScore)
 			.toList();
-		System.out.println("part2: total number of best paths: " + bestPaths.size());
+		// printing the map is slow so is only here for debug
+//		System.out.println("part2: total number of best paths: " + bestPaths.size());
 //		for (final Path path : bestPaths) {
-//			printPathOnMap(cloneMap(map), startPoint, path);
+//			printPathOnMap(cloneMap(maze.map()), maze.startPoint(), maze.endPoint(), path);
 //		}
-		printPathsOnMap(cloneMap(map), bestPaths);
-		final int numberOfPointsThatArePartOfAtLeastOneBestPath = bestPaths.stream()
+//		printPathsOnMap(cloneMap(maze.map()), bestPaths);
+		return bestPaths.stream()
 			.map(Path::points)
 			.flatMap(List::stream)
 			.collect(Collectors.toSet())
 			.size();
-		System.out.println("part2 solution runtime in milliseconds = " + (System.currentTimeMillis() - start2));
-		System.out.println("numberOfPointsThatArePartOfAtLeastOneBestPath = " + numberOfPointsThatArePartOfAtLeastOneBestPath);
+	}
+
+	private static Maze convertToMaze(final List<String> inputByLines) {
+		// convert it into a char 2 dimension array (the map of the maze)
+		final char[][] map = new char[inputByLines.size()][];
+		Point startPoint = null;
+		Point endPoint = null;
+		for (int y = 0; y < inputByLines.size(); y++) {
+			final String line = inputByLines.get(y);
+			map[y] = new char[line.length()];
+			for (int x = 0; x < line.length(); x++) {
+				final char currentChar = line.charAt(x);
+				map[y][x] = currentChar;
+				if (currentChar == CHAR_START) {
+					startPoint = new Point(x, y);
+				} else if (currentChar == CHAR_END) {
+					endPoint = new Point(x, y);
+				}
+			}
+		}
+		return new Maze(map, startPoint, endPoint);
 	}
 
 	private static void printMap(final char[][] mapCharTable) {
@@ -263,4 +272,6 @@ public class Main {
 	}
 
 	private record Path(List<Point> points, long score) {}
+
+	private record Maze(char[][] map, Point startPoint, Point endPoint) {}
 }
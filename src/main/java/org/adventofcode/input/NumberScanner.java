@@ -0,0 +1,151 @@
+package org.adventofcode.input;
+
+import java.util.Arrays;
+
+/**
+ * Reads the numbers of a {@link PuzzleInput} one after the other, straight from the bytes: no split, no String, no
+ * boxing. Everything which is not a number is a separator, so it works with any format, for example "3   4",
+ * "47|53", "190: 10 19", "Button A: X+94, Y+34" or "p=0,4 v=3,-3".
+ * A '-' or '+' right before a digit is the sign of the number.
+ * <p>
+ * The scanner can be moved to another range (or line) with the reset methods, so 1 scanner is enough for the whole
+ * input, even if it is read line by line.
+ * A scanner has a position, so it can't be shared between threads (but the {@link PuzzleInput} can be).
+ */
+public final class NumberScanner {
+
+	private final PuzzleInput input;
+	private int position;
+	private int end;
+
+	/**
+	 * Scans the whole input.
+	 */
+	public NumberScanner(final PuzzleInput input) {
+		this(input, 0, input.length());
+	}
+
+	public NumberScanner(final PuzzleInput input, final int from, final int to) {
+		this.input = input;
+		reset(from, to);
+	}
+
+	/**
+	 * Continues the scanning between 'from' (inclusive) and 'to' (exclusive).
+	 */
+	public NumberScanner reset(final int from, final int to) {
+		position = from;
+		end = to;
+		return this;
+	}
+
+	/**
+	 * Continues the scanning in the given line only.
+	 */
+	public NumberScanner resetToLine(final int line) {
+		return reset(input.lineStart(line), input.lineEnd(line));
+	}
+
+	/**
+	 * Moves to the start of the next number (skipping the separators).
+	 *
+	 * @return false if there is no more number in the range
+	 */
+	public boolean hasNext() {
+		while (position < end) {
+			final byte b = input.byteAt(position);
+			if (isDigit(b) || (b == '-' || b == '+') && position + 1 < end && isDigit(input.byteAt(position + 1))) {
+				return true;
+			}
+			position++;
+		}
+		return false;
+	}
+
+	public long nextLong() {
+		if (!hasNext()) {
+			throw new IllegalStateException("No more number after offset " + position);
+		}
+		final byte sign = input.byteAt(position);
+		final boolean isNegative = sign == '-';
+		if (isNegative || sign == '+') {
+			position++;
+		}
+		long number = 0;
+		byte b;
+		while (position < end && isDigit(b = input.byteAt(position))) {
+			if (number > (Long.MAX_VALUE - (b - '0')) / 10) {
+				throw new IllegalStateException("The number is too big for a long at offset " + position);
+			}
+			number = number * 10 + (b - '0');
+			position++;
+		}
+		return isNegative ? -number : number;
+	}
+
+	public int nextInt() {
+		final long number = nextLong();
+		if (number != (int) number) {
+			throw new IllegalStateException("The number is too big for an int: " + number);
+		}
+		return (int) number;
+	}
+
+	/**
+	 * Reads the remaining numbers into 'target' (starting at index 0), but not more than its length.
+	 *
+	 * @return how many numbers were read
+	 */
+	public int nextInts(final int[] target) {
+		int count = 0;
+		while (count < target.length && hasNext()) {
+			target[count++] = nextInt();
+		}
+		return count;
+	}
+
+	/**
+	 * @see #nextInts(int[])
+	 */
+	public int nextLongs(final long[] target) {
+		int count = 0;
+		while (count < target.length && hasNext()) {
+			target[count++] = nextLong();
+		}
+		return count;
+	}
+
+	/**
+	 * Reads every remaining number into a new array (for the cases when the count of the numbers is not known).
+	 */
+	public int[] remainingInts() {
+		int[] numbers = new int[16];
+		int count = 0;
+		while (hasNext()) {
+			if (count == numbers.length) {
+				numbers = Arrays.copyOf(numbers, count * 2);
+			}
+			numbers[count++] = nextInt();
+		}
+		return Arrays.copyOf(numbers, count);
+	}
+
+	/**
+	 * @see #remainingInts()
+	 */
+	public long[] remainingLongs() {
+		long[] numbers = new long[16];
+		int count = 0;
+		while (hasNext()) {
+			if (count == numbers.length) {
+				numbers = Arrays.copyOf(numbers, count * 2);
+			}
+			numbers[count++] = nextLong();
+		}
+		return Arrays.copyOf(numbers, count);
+	}
+
+	private static boolean isDigit(final byte b) {
+		return b >= '0' && b <= '9';
+	}
+}
@@ -0,0 +1,219 @@
+package org.adventofcode.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The puzzle input as bytes, without copying it into Strings: the "input.txt" is memory-mapped (so the OS pages it in
+ * lazily, and there is no copy on the heap), the lines are only byte offsets into it.
+ * The lines are the same as {@code FileUtils.readLines()} would give: split at "\n" or "\r\n", the last line break is
+ * not making an empty line at the end, and the line breaks are not part of the lines.
+ * <p>
+ * Every read is absolute (nothing depends on the position of the buffer), so the same input can be read by more
+ * threads at the same time.
+ * The input is ASCII in every day, so 1 byte is 1 character.
+ */
+public final class PuzzleInput {
+
+	private static final byte NEW_LINE = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	private final ByteBuffer bytes;
+	private final int[] lineStarts;
+	private final int[] lineEnds;
+	private volatile List<String> lines;
+
+	private PuzzleInput(final ByteBuffer bytes) {
+		this.bytes = bytes.asReadOnlyBuffer();
+
+		// index the lines once, every line is only 2 ints after this
+		int lineCount = 0;
+		for (int i = 0; i < this.bytes.limit(); i++) {
+			if (this.bytes.get(i) == NEW_LINE) {
+				lineCount++;
+			}
+		}
+		if (this.bytes.limit() > 0 && this.bytes.get(this.bytes.limit() - 1) != NEW_LINE) {
+			lineCount++; // the last line has no line break
+		}
+		lineStarts = new int[lineCount];
+		lineEnds = new int[lineCount];
+		int lineStart = 0;
+		int line = 0;
+		for (int i = 0; i <= this.bytes.limit() && line < lineCount; i++) {
+			if (i == this.bytes.limit() || this.bytes.get(i) == NEW_LINE) {
+				final int lineEnd = i > lineStart && this.bytes.get(i - 1) == CARRIAGE_RETURN ? i - 1 : i;
+				lineStarts[line] = lineStart;
+				lineEnds[line] = lineEnd;
+				line++;
+				lineStart = i + 1;
+			}
+		}
+	}
+
+	/**
+	 * Loads the "input.txt" from the package of the given class. If it is a file it is memory-mapped, if it is in a jar
+	 * (like in the benchmarks' jar) it can't be mapped, so it is read into the heap.
+	 */
+	public static PuzzleInput load(final Class<?> dayClass) throws IOException {
+		final URL input = dayClass.getResource("input.txt");
+		if (input == null) {
+			throw new IllegalStateException("Missing input.txt next to " + dayClass.getName());
+		}
+		if ("file".equals(input.getProtocol())) {
+			try {
+				return map(Path.of(input.toURI()));
+			} catch (final URISyntaxException e) {
+				throw new IllegalStateException("Invalid path of input.txt: " + input, e);
+			}
+		}
+		try (final InputStream inputStream = input.openStream()) {
+			return of(inputStream.readAllBytes());
+		}
+	}
+
+	public static PuzzleInput map(final Path path) throws IOException {
+		try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (fileChannel.size() > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("The input is too big to map it into 1 buffer: " + fileChannel.size() + " bytes");
+			}
+			// the mapping stays valid after the channel is closed
+			return new PuzzleInput(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()));
+		}
+	}
+
+	public static PuzzleInput of(final byte[] bytes) {
+		return new PuzzleInput(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * For the inputs which are already lines, like the scaled inputs of the benchmarks.
+	 */
+	public static PuzzleInput of(final List<String> inputByLines) {
+		return of((String.join("\n", inputByLines) + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @return the number of bytes of the input, including the line breaks
+	 */
+	public int length() {
+		return bytes.limit();
+	}
+
+	public byte byteAt(final int offset) {
+		return bytes.get(offset);
+	}
+
+	public int lineCount() {
+		return lineStarts.length;
+	}
+
+	/**
+	 * @return the offset of the first byte of the line
+	 */
+	public int lineStart(final int line) {
+		return lineStarts[line];
+	}
+
+	/**
+	 * @return the offset after the last byte of the line (exclusive, the line break is not part of the line)
+	 */
+	public int lineEnd(final int line) {
+		return lineEnds[line];
+	}
+
+	public int lineLength(final int line) {
+		return lineEnds[line] - lineStarts[line];
+	}
+
+	/**
+	 * For sizing the buffers which are reused for every line: a line of n bytes has at most (n + 1) / 2 numbers in it.
+	 */
+	public int maxLineLength() {
+		int maxLineLength = 0;
+		for (int line = 0; line < lineCount(); line++) {
+			maxLineLength = Math.max(maxLineLength, lineLength(line));
+		}
+		return maxLineLength;
+	}
+
+	public byte byteAt(final int line, final int column) {
+		return bytes.get(lineStarts[line] + column);
+	}
+
+	/**
+	 * @return the offset of the first 'b' between 'from' (inclusive) and 'to' (exclusive), or -1 if there is none
+	 */
+	public int indexOf(final byte b, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			if (bytes.get(i) == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The input as a stream, for the code which reads it in 1 pass, like it would read a file or a feed which doesn't
+	 * fit into the memory. Every call gives a new stream from the start of the input.
+	 */
+	public InputStream openStream() {
+		final ByteBuffer stream = bytes.duplicate(); // its own position, the reads of the input don't depend on it
+		return new InputStream() {
+
+			@Override
+			public int read() {
+				return stream.hasRemaining() ? stream.get() & 0xFF : -1;
+			}
+
+			@Override
+			public int read(final byte[] buffer, final int offset, final int length) {
+				if (length == 0) {
+					return 0;
+				}
+				if (!stream.hasRemaining()) {
+					return -1;
+				}
+				final int readLength = Math.min(length, stream.remaining());
+				stream.get(buffer, offset, readLength);
+				return readLength;
+			}
+		};
+	}
+
+	/**
+	 * Makes a String of a part of the input, only for the places where a String is really needed (printing, etc.).
+	 */
+	public String substring(final int from, final int to) {
+		final byte[] part = new byte[to - from];
+		bytes.get(from, part);
+		return new String(part, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * For the days which are still working with lines of Strings. The Strings are made only once (at the first call),
+	 * so the repeated runs of a day don't pay for it again.
+	 */
+	public List<String> lines() {
+		List<String> result = lines;
+		if (result == null) {
+			final List<String> inputByLines = new ArrayList<>(lineCount());
+			for (int line = 0; line < lineCount(); line++) {
+				inputByLines.add(substring(lineStarts[line], lineEnds[line]));
+			}
+			result = Collections.unmodifiableList(inputByLines);
+			lines = result;
+		}
+		return result;
+	}
+}
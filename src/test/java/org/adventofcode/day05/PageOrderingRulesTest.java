@@ -0,0 +1,67 @@
+package org.adventofcode.day05;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageOrderingRulesTest {
+
+	@Test
+	void addRuleWithBigPageNumbers() {
+		// the pages get dense indexes, the page numbers don't size anything
+		final PageOrderingRules pageOrderingRules = new PageOrderingRules();
+		pageOrderingRules.addRule(5, 2_000_000_000);
+		pageOrderingRules.addRule(2_000_000_000, Integer.MAX_VALUE);
+
+		assertEquals(3, pageOrderingRules.pageCount());
+		assertTrue(pageOrderingRules.hasRule(5, 2_000_000_000));
+		assertFalse(pageOrderingRules.hasRule(2_000_000_000, 5));
+		assertTrue(pageOrderingRules.isUpdateValid(new int[]{5, 2_000_000_000, Integer.MAX_VALUE}));
+		assertFalse(pageOrderingRules.isUpdateValid(new int[]{Integer.MAX_VALUE, 7, 5, 2_000_000_000}));
+	}
+
+	@Test
+	void addRuleWithManyPages() {
+		final PageOrderingRules pageOrderingRules = new PageOrderingRules();
+		for (int page = 0; page < 1000; page++) {
+			pageOrderingRules.addRule(page * 1000, page * 1000 + 1);
+		}
+
+		assertEquals(2000, pageOrderingRules.pageCount());
+		for (int page = 0; page < 1000; page++) {
+			assertEquals(2 * page, pageOrderingRules.indexOf(page * 1000));
+			assertTrue(pageOrderingRules.hasRule(page * 1000, page * 1000 + 1));
+			assertFalse(pageOrderingRules.isUpdateValid(new int[]{page * 1000 + 1, page * 1000}));
+		}
+		assertEquals(PageOrderingRules.NO_INDEX, pageOrderingRules.indexOf(2));
+	}
+
+	@Test
+	void addRuleRejectsANegativePage() {
+		final PageOrderingRules pageOrderingRules = new PageOrderingRules();
+
+		assertThrows(IllegalArgumentException.class, () -> pageOrderingRules.addRule(-1, 5));
+		assertThrows(IllegalArgumentException.class, () -> pageOrderingRules.addRule(5, Integer.MIN_VALUE));
+		assertFalse(pageOrderingRules.hasRule(-1, 5));
+	}
+
+	@Test
+	void isUpdateValidReusesTheSeenPagesOfTheThread() {
+		final PageOrderingRules pageOrderingRules = new PageOrderingRules();
+		pageOrderingRules.addRule(1, 2);
+
+		assertFalse(pageOrderingRules.isUpdateValid(new int[]{2, 1}));
+		// the 2 seen in the update before is forgotten
+		assertTrue(pageOrderingRules.isUpdateValid(new int[]{1, 2}));
+
+		// the matrix grows after the seen pages were first used
+		for (int page = 100; page < 300; page++) {
+			pageOrderingRules.addRule(page, page + 1000);
+		}
+		assertFalse(pageOrderingRules.isUpdateValid(new int[]{1, 1299, 299}));
+		assertTrue(pageOrderingRules.isUpdateValid(new int[]{299, 1299, 1}));
+	}
+}
@@ -0,0 +1,57 @@
+package org.adventofcode.day05;
+
+import org.adventofcode.input.PuzzleInput;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpdateStreamValidatorTest {
+
+	// the puzzle's example, with a single page line in the updates which is not an update (it has no ',')
+	private static final String INPUT = """
+		47|53
+		97|13
+		97|61
+		97|47
+		75|29
+		61|13
+		75|53
+		29|13
+		97|29
+		53|29
+		61|53
+		97|53
+		61|29
+		47|13
+		75|47
+		97|75
+		47|61
+		75|61
+		47|29
+		75|13
+		53|13
+
+		75,47,61,53,29
+		97,61,53,29,13
+		75,29,13
+		47
+		75,97,47,61,53
+		61,13,29
+		97,13,75,29,47
+		""";
+
+	@Test
+	void streamingAndBatchGiveTheSameSums() {
+		final PuzzleInput input = PuzzleInput.of(INPUT.getBytes(StandardCharsets.UTF_8));
+
+		final UpdateStreamValidator updateStreamValidator = Main.validateAsStream(input);
+
+		assertEquals(143, Main.solvePart1(input));
+		assertEquals(123, Main.solvePart2(input));
+		assertEquals(Main.solvePart1(input), updateStreamValidator.getValidUpdatesMiddleNumbersSum());
+		assertEquals(Main.solvePart2(input), updateStreamValidator.getCorrectedUpdatesMiddleNumbersSum());
+		assertEquals(6, updateStreamValidator.getUpdateCount());
+	}
+}
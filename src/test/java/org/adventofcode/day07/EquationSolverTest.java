@@ -0,0 +1,63 @@
+package org.adventofcode.day07;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.adventofcode.day07.BuiltInOperator.ADD;
+import static org.adventofcode.day07.BuiltInOperator.CONCATENATION;
+import static org.adventofcode.day07.BuiltInOperator.MULTIPLY;
+import static org.adventofcode.day07.BuiltInOperator.SUBTRACT;
+import static org.adventofcode.day07.MinOperator.MIN;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquationSolverTest {
+
+	private static final EquationSolver ADD_MULTIPLY_SOLVER = new EquationSolver(List.of(ADD, MULTIPLY));
+
+	@Test
+	void canBeMadeTrueAtTheBoundaryValues() {
+		// neither 5 + 0 nor 5 * 0 is the biggest long, even if the inverse of '+' gives a valid long
+		assertFalse(ADD_MULTIPLY_SOLVER.canBeMadeTrue(Long.MAX_VALUE, new int[]{5, 0}));
+		assertFalse(ADD_MULTIPLY_SOLVER.canBeMadeTrue(Long.MIN_VALUE, new int[]{5, 0}));
+		assertFalse(ADD_MULTIPLY_SOLVER.canBeMadeTrue(Long.MAX_VALUE, new int[]{5}));
+		assertTrue(ADD_MULTIPLY_SOLVER.canBeMadeTrue(Integer.MAX_VALUE, new int[]{Integer.MAX_VALUE, 0}));
+	}
+
+	@Test
+	void canBeMadeTrueWithAnyValueBeforeMultiplyingByZero() {
+		assertTrue(ADD_MULTIPLY_SOLVER.canBeMadeTrue(0, new int[]{5, 7, 0}));
+		assertTrue(ADD_MULTIPLY_SOLVER.canBeMadeTrue(3, new int[]{5, 7, 0, 3}));
+		assertFalse(ADD_MULTIPLY_SOLVER.canBeMadeTrue(1, new int[]{5, 7, 0}));
+	}
+
+	@Test
+	void canBeMadeTrueWithoutOverflowingBackwards() {
+		final EquationSolver solver = new EquationSolver(List.of(ADD, SUBTRACT, MULTIPLY));
+		// 'Long.MAX_VALUE - 1 + 4' overflows to the value which is divisible by 1431655766
+		assertFalse(solver.canBeMadeTrue(Long.MAX_VALUE - 1, new int[]{-3, 2147483647, 1431655766, 4}));
+		assertFalse(solver.canBeMadeTrue(Long.MIN_VALUE, new int[]{-1, -1}));
+		assertTrue(solver.canBeMadeTrue(Long.MIN_VALUE, new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE, -2}));
+	}
+
+	@Test
+	void canBeMadeTrueByMultiplyingByZeroOnlyIfTheNumbersBeforeFit() {
+		final EquationSolver solver = new EquationSolver(List.of(MULTIPLY));
+		// Integer.MAX_VALUE^3 doesn't fit into a long, so there is no value to multiply by 0, like forwards
+		assertFalse(solver.canBeMadeTrue(0, new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 0}));
+		assertTrue(solver.canBeMadeTrue(0, new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE, 0}));
+	}
+
+	@Test
+	void canBeMadeTrueRejectsANegativeNumberToConcatenate() {
+		final int[] numbers = {3, 0, -2};
+		// backwards and forwards (with 'min', which has no inverse)
+		assertThrows(IllegalArgumentException.class, () -> new EquationSolver(List.of(ADD, MULTIPLY, CONCATENATION)).canBeMadeTrue(28, numbers));
+		assertThrows(IllegalArgumentException.class, () -> new EquationSolver(List.of(ADD, MULTIPLY, CONCATENATION, MIN)).canBeMadeTrue(28, numbers));
+		assertThrows(IllegalArgumentException.class, () -> CONCATENATION.apply(3, -2));
+		// the first number is the left value only
+		assertTrue(new EquationSolver(List.of(ADD, CONCATENATION)).canBeMadeTrue(-32, new int[]{-3, 2}));
+	}
+}